@@ -10,6 +10,7 @@
 package mods.railcraft.client.util.sounds;
 
 import mods.railcraft.common.core.Railcraft;
+import mods.railcraft.common.plugins.forge.ReflectionPlugin;
 import mods.railcraft.common.util.sounds.SoundHelper;
 import mods.railcraft.common.util.sounds.SoundRegistry;
 import net.minecraft.block.SoundType;
@@ -20,7 +21,6 @@ import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.client.event.sound.PlaySoundEvent;
-import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
 /**
@@ -29,6 +29,7 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 public class RCSoundHandler {
 
     public static final RCSoundHandler INSTANCE = new RCSoundHandler();
+    private static final ReflectionPlugin.FieldAccessor<PositionedSound, ResourceLocation> SOUND_LOCATION = ReflectionPlugin.field(PositionedSound.class, 3);
 
     private RCSoundHandler() {
     }
@@ -58,7 +59,7 @@ public class RCSoundHandler {
                 }
                 if (blockSound != null) {
                     SoundEvent newSound = SoundHelper.matchSoundEvent(soundResource, blockSound);
-                    ObfuscationReflectionHelper.setPrivateValue(PositionedSound.class, (PositionedSound) soundEvent, newSound.getSoundName(), 3);
+                    SOUND_LOCATION.set((PositionedSound) soundEvent, newSound.getSoundName());
                 } else {
                     event.setResultSound(null);
                 }
@@ -10,9 +10,6 @@
 package mods.railcraft.common.blocks;
 
 import com.mojang.authlib.GameProfile;
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufOutputStream;
-import io.netty.buffer.Unpooled;
 import mods.railcraft.api.core.INetworkedObject;
 import mods.railcraft.api.core.IOwnable;
 import mods.railcraft.api.core.RailcraftConstantsAPI;
@@ -22,6 +19,7 @@ import mods.railcraft.common.plugins.forge.WorldPlugin;
 import mods.railcraft.common.util.misc.AdjacentTileCache;
 import mods.railcraft.common.util.misc.Game;
 import mods.railcraft.common.util.network.PacketBuilder;
+import mods.railcraft.common.util.network.PacketEncoder;
 import mods.railcraft.common.util.network.RailcraftInputStream;
 import mods.railcraft.common.util.network.RailcraftOutputStream;
 import net.minecraft.block.Block;
@@ -85,16 +83,16 @@ public abstract class RailcraftTileEntity extends TileEntity implements INetwork
     @Override
     public final NBTTagCompound getUpdateTag() {
         NBTTagCompound nbt = super.getUpdateTag();
-        ByteBuf byteBuf = Unpooled.buffer();
-        try (ByteBufOutputStream out = new ByteBufOutputStream(byteBuf);
-             RailcraftOutputStream data = new RailcraftOutputStream(out)) {
-            writePacketData(data);
-        } catch (IOException e) {
-            Game.logThrowable("Error constructing tile packet: {0}", e, getClass());
-            if (Game.DEVELOPMENT_ENVIRONMENT)
-                throw new RuntimeException(e);
+        try (PacketEncoder encoder = PacketEncoder.open()) {
+            try {
+                writePacketData(encoder.data());
+            } catch (IOException e) {
+                Game.logThrowable("Error constructing tile packet: {0}", e, getClass());
+                if (Game.DEVELOPMENT_ENVIRONMENT)
+                    throw new RuntimeException(e);
+            }
+            nbt.setByteArray("sync", encoder.toByteArray());
         }
-        nbt.setByteArray("sync", byteBuf.array());
         return nbt;
     }
 
@@ -11,6 +11,7 @@
 package mods.railcraft.common.blocks.charge;
 
 import mods.railcraft.common.plugins.forge.NBTPlugin;
+import mods.railcraft.common.util.collections.LongDoubleHashMap;
 import mods.railcraft.common.util.misc.Game;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
@@ -20,7 +21,9 @@ import net.minecraft.world.WorldSavedData;
 import net.minecraft.world.storage.MapStorage;
 import org.apache.logging.log4j.Level;
 
-import java.util.LinkedHashMap;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -31,7 +34,12 @@ import java.util.Map;
  */
 public class BatterySaveData extends WorldSavedData {
     private static final String NAME = "railcraft.batteries";
-    private Map<BlockPos, Double> chargeLevels = new LinkedHashMap<>();
+    /**
+     * Batteries are grouped into regions of 512x512 blocks, matching the vanilla region files.
+     */
+    private static final int REGION_SHIFT = 9;
+    private final Map<Long, Region> regions = new HashMap<>();
+    private final Map<BlockPos, IChargeBlock.ChargeBattery> liveBatteries = new HashMap<>();
 
     public static BatterySaveData forWorld(World world) {
         MapStorage storage = world.getPerWorldStorage();
@@ -52,14 +60,19 @@ public class BatterySaveData extends WorldSavedData {
     public NBTTagCompound writeToNBT(NBTTagCompound nbt) {
         if (Game.DEVELOPMENT_ENVIRONMENT)
             Game.log(Level.INFO, "Saving Charge Battery data...");
+        // Pooled batteries only work out their charge when asked, so it is collected here rather than every tick
+        liveBatteries.forEach(this::recordCharge);
         NBTTagList list = new NBTTagList();
-        for (Map.Entry<BlockPos, Double> entry : chargeLevels.entrySet()) {
-            NBTTagCompound dataEntry = new NBTTagCompound();
-            NBTPlugin.writeBlockPos(dataEntry, "pos", entry.getKey());
-            dataEntry.setDouble("value", entry.getValue());
-            list.appendTag(dataEntry);
+        Iterator<Map.Entry<Long, Region>> it = regions.entrySet().iterator();
+        while (it.hasNext()) {
+            Region region = it.next().getValue();
+            if (region.chargeLevels.isEmpty()) {
+                it.remove();
+                continue;
+            }
+            list.appendTag(region.serialize());
         }
-        nbt.setTag("batteries", list);
+        nbt.setTag("regions", list);
         return nbt;
     }
 
@@ -67,27 +80,97 @@ public class BatterySaveData extends WorldSavedData {
     public void readFromNBT(NBTTagCompound nbt) {
         if (Game.DEVELOPMENT_ENVIRONMENT)
             Game.log(Level.INFO, "Loading Charge Battery data...");
+        List<NBTTagCompound> regionList = NBTPlugin.getNBTList(nbt, "regions", NBTPlugin.EnumNBTType.COMPOUND);
+        for (NBTTagCompound regionTag : regionList) {
+            long[] positions = NBTPlugin.readLongArray(regionTag, "pos");
+            double[] charges = NBTPlugin.readDoubleArray(regionTag, "charge");
+            for (int i = 0; i < positions.length && i < charges.length; i++) {
+                BlockPos pos = BlockPos.fromLong(positions[i]);
+                getRegion(pos).chargeLevels.put(positions[i], charges[i]);
+            }
+        }
+
+        // Worlds saved before the packed format stored each battery as its own compound
         List<NBTTagCompound> list = NBTPlugin.getNBTList(nbt, "batteries", NBTPlugin.EnumNBTType.COMPOUND);
         for (NBTTagCompound entry : list) {
             BlockPos pos = NBTPlugin.readBlockPos(entry, "pos");
             if (pos != null)
-                chargeLevels.put(pos, nbt.getDouble("value"));
+                getRegion(pos).chargeLevels.put(pos.toLong(), entry.getDouble("value"));
         }
     }
 
     public void initBattery(BlockPos pos, IChargeBlock.ChargeBattery chargeBattery) {
-        if (!chargeBattery.isInfinite())
-            chargeBattery.setCharge(chargeLevels.getOrDefault(pos, 0.0));
+        if (!chargeBattery.isInfinite()) {
+            Region region = regions.get(regionKey(pos));
+            chargeBattery.setCharge(region == null ? 0.0 : region.chargeLevels.get(pos.toLong(), 0.0));
+        }
+        liveBatteries.put(pos, chargeBattery);
     }
 
     public void updateBatteryRecord(BlockPos pos, IChargeBlock.ChargeBattery chargeBattery) {
-        if (!chargeBattery.isInfinite()) {
-            chargeLevels.put(pos, chargeBattery.getCharge());
+        if (recordCharge(pos, chargeBattery))
             markDirty();
-        }
     }
 
     public void removeBattery(BlockPos pos) {
-        chargeLevels.remove(pos);
+        liveBatteries.remove(pos);
+        Region region = regions.get(regionKey(pos));
+        if (region != null && region.chargeLevels.remove(pos.toLong())) {
+            region.dirty = true;
+            markDirty();
+        }
+    }
+
+    /**
+     * @return true if the stored charge changed
+     */
+    private boolean recordCharge(BlockPos pos, IChargeBlock.ChargeBattery chargeBattery) {
+        if (chargeBattery.isInfinite())
+            return false;
+        double charge = chargeBattery.getCharge();
+        long key = pos.toLong();
+        Region region = getRegion(pos);
+        if (region.chargeLevels.containsKey(key) && region.chargeLevels.get(key, 0.0) == charge)
+            return false;
+        region.chargeLevels.put(key, charge);
+        region.dirty = true;
+        return true;
+    }
+
+    private static long regionKey(BlockPos pos) {
+        return ((long) (pos.getX() >> REGION_SHIFT) << 32) | ((pos.getZ() >> REGION_SHIFT) & 0xFFFFFFFFL);
+    }
+
+    private Region getRegion(BlockPos pos) {
+        return regions.computeIfAbsent(regionKey(pos), k -> new Region());
+    }
+
+    private static class Region {
+        private final LongDoubleHashMap chargeLevels = new LongDoubleHashMap();
+        private boolean dirty = true;
+        @Nullable
+        private NBTTagCompound serialized;
+
+        /**
+         * Only regions that changed since the last save are written out again,
+         * the rest reuse the tag built last time.
+         */
+        private NBTTagCompound serialize() {
+            if (dirty || serialized == null) {
+                long[] positions = new long[chargeLevels.size()];
+                double[] charges = new double[chargeLevels.size()];
+                int[] index = {0};
+                chargeLevels.forEach((pos, charge) -> {
+                    positions[index[0]] = pos;
+                    charges[index[0]] = charge;
+                    index[0]++;
+                });
+                serialized = new NBTTagCompound();
+                NBTPlugin.writeLongArray(serialized, "pos", positions);
+                NBTPlugin.writeDoubleArray(serialized, "charge", charges);
+                dirty = false;
+            }
+            return serialized;
+        }
     }
 }
@@ -19,7 +19,6 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.relauncher.Side;
 
-import java.util.EnumSet;
 import java.util.Map;
 import java.util.function.BiConsumer;
 
@@ -51,13 +50,18 @@ public class ChargeManager {
             IChargeBlock block = (IChargeBlock) state.getBlock();
             IChargeBlock.ChargeDef chargeDef = block.getChargeDef(state, world, pos);
             if (chargeDef != null) {
-                Map<BlockPos, EnumSet<IChargeBlock.ConnectType>> possibleConnections = chargeDef.getConnectType().getPossibleConnectionLocations(pos);
-                for (Map.Entry<BlockPos, EnumSet<IChargeBlock.ConnectType>> connection : possibleConnections.entrySet()) {
-                    IBlockState otherState = WorldPlugin.getBlockState(world, connection.getKey());
+                IChargeBlock.ConnectType connectType = chargeDef.getConnectType();
+                BlockPos.MutableBlockPos connectionPos = new BlockPos.MutableBlockPos();
+                for (int i = 0; i < connectType.getConnectionCount(); i++) {
+                    int dx = connectType.getOffsetX(i);
+                    int dy = connectType.getOffsetY(i);
+                    int dz = connectType.getOffsetZ(i);
+                    connectionPos.setPos(pos.getX() + dx, pos.getY() + dy, pos.getZ() + dz);
+                    IBlockState otherState = WorldPlugin.getBlockState(world, connectionPos);
                     if (otherState.getBlock() instanceof IChargeBlock) {
-                        IChargeBlock.ChargeDef other = ((IChargeBlock) otherState.getBlock()).getChargeDef(WorldPlugin.getBlockState(world, connection.getKey()), world, connection.getKey());
-                        if (other != null && other.getConnectType().getPossibleConnectionLocations(connection.getKey()).get(pos).contains(chargeDef.getConnectType())) {
-                            action.accept(connection.getKey(), other);
+                        IChargeBlock.ChargeDef other = ((IChargeBlock) otherState.getBlock()).getChargeDef(otherState, world, connectionPos);
+                        if (other != null && connectType.canConnect(dx, dy, dz, other.getConnectType())) {
+                            action.accept(connectionPos.toImmutable(), other);
                         }
                     }
                 }
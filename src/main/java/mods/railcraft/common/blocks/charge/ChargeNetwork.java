@@ -12,6 +12,7 @@ package mods.railcraft.common.blocks.charge;
 
 import com.google.common.collect.ForwardingSet;
 import com.google.common.collect.Iterators;
+import mods.railcraft.common.core.RailcraftConfig;
 import mods.railcraft.common.plugins.forge.WorldPlugin;
 import mods.railcraft.common.util.misc.Game;
 import net.minecraft.block.state.IBlockState;
@@ -40,6 +41,8 @@ public class ChargeNetwork {
     private final ChargeNode NULL_NODE = new NullNode();
     private final WeakReference<World> world;
     private final BatterySaveData batterySaveData;
+    private final Stats stats = new Stats();
+    private final BlockPos.MutableBlockPos lookupPos = new BlockPos.MutableBlockPos();
 
     public ChargeNetwork(World world) {
         this.world = new WeakReference<World>(world);
@@ -57,61 +60,87 @@ public class ChargeNetwork {
                 nodeIterator.remove();
         }
 
-        Map<BlockPos, ChargeNode> added = new LinkedHashMap<>();
-        Iterator<Map.Entry<BlockPos, ChargeNode>> iterator = chargeQueue.entrySet().iterator();
-        int count = 0;
-        while (iterator.hasNext() && count < 500) {
-            count++;
+        long start = System.nanoTime();
+        long deadline = start + RailcraftConfig.chargeTickBudget() * 1000L;
+        Set<BlockPos> newNodes = new HashSet<>();
+        int processed = 0;
+        // Always make some progress, then stop once the budget is spent, the rest carries over to the next tick
+        while (!chargeQueue.isEmpty() && (processed == 0 || System.nanoTime() < deadline)) {
+            Iterator<Map.Entry<BlockPos, ChargeNode>> iterator = chargeQueue.entrySet().iterator();
             Map.Entry<BlockPos, ChargeNode> action = iterator.next();
-            if (action.getValue() == null) {
-                deleteNode(action.getKey());
+            BlockPos pos = action.getKey();
+            ChargeNode node = action.getValue();
+            iterator.remove();
+            processed++;
+            if (node == null) {
+                deleteNode(pos);
             } else {
-                insertNode(action.getKey(), action.getValue());
-                added.put(action.getKey(), action.getValue());
+                insertNode(pos, node);
+                ChargeManager.forConnections(worldObj, pos, (conPos, conDef) -> {
+                    if (registerChargeNode(worldObj, conPos, conDef))
+                        newNodes.add(conPos);
+                });
             }
-            iterator.remove();
-        }
-
-        Set<BlockPos> newNodes = new HashSet<>();
-        for (Map.Entry<BlockPos, ChargeNode> addedNode : added.entrySet()) {
-            ChargeManager.forConnections(worldObj, addedNode.getKey(), (conPos, conDef) -> {
-                if (registerChargeNode(worldObj, conPos, conDef))
-                    newNodes.add(conPos);
-            });
-            if (addedNode.getValue().isGraphNull())
-                addedNode.getValue().constructGraph();
         }
+        long queueTime = System.nanoTime() - start;
 
         chargeGraphs.removeIf(g -> g.invalid);
         chargeGraphs.forEach(ChargeGraph::tick);
 
+        long tickTime = System.nanoTime() - start;
+        stats.nodesProcessedLastTick = processed;
+        stats.nodesProcessedTotal += processed;
+        stats.queueTimeLastTick = queueTime;
+        stats.tickTimeLastTick = tickTime;
+        stats.averageTickTime = (stats.averageTickTime * 99D + tickTime) / 100D;
+        if (queueTime > stats.peakQueueTime)
+            stats.peakQueueTime = queueTime;
+
         if (!newNodes.isEmpty())
             Game.log(Level.INFO, "Nodes queued: {0}", newNodes.size());
     }
 
+    /**
+     * @return counters describing how much work the network has been doing, for debugging
+     */
+    public Stats getStats() {
+        return stats;
+    }
+
     private void insertNode(BlockPos pos, ChargeNode node) {
         ChargeNode oldNode = chargeNodes.put(pos, node);
 
-        if (node.chargeBattery != null)
-            batterySaveData.initBattery(pos, node.chargeBattery);
-        else
-            batterySaveData.removeBattery(pos);
-
+        ChargeGraph replacedGraph = NULL_GRAPH;
         if (oldNode != null) {
             oldNode.invalid = true;
-            if (oldNode.chargeGraph.isActive()) {
-                node.chargeGraph = oldNode.chargeGraph;
-                node.chargeGraph.add(node);
+            ChargeGraph oldGraph = oldNode.chargeGraph;
+            if (oldGraph.isActive() && oldNode.chargeDef.getConnectType() == node.chargeDef.getConnectType()) {
+                // Same connection shape, so the node can simply take the old one's place
+                oldGraph.unlink(oldNode);
+                replacedGraph = oldGraph;
+            } else {
+                oldGraph.removeNode(oldNode);
             }
             oldNode.chargeGraph = NULL_GRAPH;
         }
+
+        // The old node's battery has been released back to the save data by now
+        if (node.chargeBattery != null)
+            batterySaveData.initBattery(pos, node.chargeBattery);
+        else
+            batterySaveData.removeBattery(pos);
+
+        if (replacedGraph.isActive())
+            replacedGraph.add(node);
+        else
+            node.constructGraph();
     }
 
     private void deleteNode(BlockPos pos) {
         ChargeNode chargeNode = chargeNodes.remove(pos);
         if (chargeNode != null) {
             chargeNode.invalid = true;
-            chargeNode.chargeGraph.destroy(true);
+            chargeNode.chargeGraph.removeNode(chargeNode);
         }
         batterySaveData.removeBattery(pos);
     }
@@ -153,8 +182,6 @@ public class ChargeNetwork {
                     if (chargeDef != null) {
                         node = new ChargeNode(pos, chargeDef, chargeDef.makeBattery(worldObj, pos));
                         insertNode(pos, node);
-                        if (node.isGraphNull())
-                            node.constructGraph();
                     }
                 }
             }
@@ -174,6 +201,10 @@ public class ChargeNetwork {
         private final Map<ChargeNode, IChargeBlock.ChargeBattery> chargeBatteries = new LinkedHashMap<>();
         private boolean invalid;
         private double totalMaintenanceCost;
+        private double pooledCharge;
+        private double capacity;
+        private double finiteCapacity;
+        private int infiniteBatteries;
         private double chargeUsedThisTick;
         private double averageUsagePerTick;
 
@@ -188,9 +219,10 @@ public class ChargeNetwork {
             if (added) {
                 totalMaintenanceCost += chargeNode.chargeDef.getMaintenanceCost();
                 chargeNode.chargeGraph = this;
-                if (chargeNode.chargeBattery != null)
+                if (chargeNode.chargeBattery != null) {
                     chargeBatteries.put(chargeNode, chargeNode.chargeBattery);
-                else {
+                    poolBattery(chargeNode.chargeBattery);
+                } else {
                     chargeBatteries.remove(chargeNode);
                     batterySaveData.removeBattery(chargeNode.pos);
                 }
@@ -228,6 +260,203 @@ public class ChargeNetwork {
             return Iterators.unmodifiableIterator(super.iterator());
         }
 
+        /**
+         * Moves every node of another graph into this one. Callers should always
+         * merge the smaller graph into the larger, which keeps the amortized cost
+         * of building a network of n nodes at O(n log n), the same bound as a
+         * weighted union-find.
+         */
+        private void absorb(ChargeGraph other) {
+            if (other == this || other.isNull())
+                return;
+            for (ChargeNode node : new ArrayList<>(other.chargeNodes)) {
+                add(node);
+            }
+            other.invalid = true;
+            other.totalMaintenanceCost = 0.0;
+            other.clearPool();
+            other.chargeNodes.clear();
+            chargeGraphs.remove(other);
+            stats.graphsRebuilt++;
+        }
+
+        /**
+         * Removes a node without checking whether the graph is still connected.
+         */
+        private void unlink(ChargeNode node) {
+            if (isNull())
+                return;
+            if (chargeNodes.remove(node)) {
+                totalMaintenanceCost -= node.chargeDef.getMaintenanceCost();
+                IChargeBlock.ChargeBattery battery = chargeBatteries.remove(node);
+                if (battery != null) {
+                    releaseBattery(battery);
+                    batterySaveData.updateBatteryRecord(node.pos, battery);
+                }
+            }
+        }
+
+        private void poolBattery(IChargeBlock.ChargeBattery battery) {
+            if (battery.pool == this)
+                return;
+            if (battery.pool != null)
+                battery.pool.releaseBattery(battery);
+            double batteryCapacity = battery.getCapacity();
+            capacity += batteryCapacity;
+            battery.pooledAsInfinite = battery.isInfinite();
+            if (battery.pooledAsInfinite) {
+                infiniteBatteries++;
+            } else {
+                finiteCapacity += batteryCapacity;
+                pooledCharge += battery.getCharge();
+            }
+            battery.pool = this;
+        }
+
+        /**
+         * Takes a battery out of the pool, handing it its share of the pooled charge.
+         */
+        private void releaseBattery(IChargeBlock.ChargeBattery battery) {
+            if (battery.pool != this)
+                return;
+            double batteryCapacity = battery.getCapacity();
+            capacity -= batteryCapacity;
+            if (battery.pooledAsInfinite) {
+                infiniteBatteries--;
+                battery.pool = null;
+            } else {
+                double share = getShare(battery);
+                pooledCharge -= share;
+                finiteCapacity -= batteryCapacity;
+                battery.pool = null;
+                battery.setCharge(share);
+            }
+            if (chargeBatteries.isEmpty()) {
+                // Avoids accumulating rounding errors in an empty pool
+                pooledCharge = 0.0;
+                capacity = 0.0;
+                finiteCapacity = 0.0;
+            }
+        }
+
+        private void clearPool() {
+            chargeBatteries.values().forEach(b -> {
+                if (b.pool == this)
+                    releaseBattery(b);
+            });
+            chargeBatteries.clear();
+            pooledCharge = 0.0;
+            capacity = 0.0;
+            finiteCapacity = 0.0;
+            infiniteBatteries = 0;
+        }
+
+        void repoolBattery(IChargeBlock.ChargeBattery battery) {
+            releaseBattery(battery);
+            poolBattery(battery);
+        }
+
+        /**
+         * @return the part of the pooled charge that belongs to the battery, in proportion to its capacity
+         */
+        double getShare(IChargeBlock.ChargeBattery battery) {
+            if (finiteCapacity <= 0.0)
+                return 0.0;
+            return pooledCharge * battery.getCapacity() / finiteCapacity;
+        }
+
+        void addPooledCharge(double charge) {
+            pooledCharge += charge;
+        }
+
+        /**
+         * Removes a node and splits off any parts of the graph that were
+         * only connected through it.
+         *
+         * Instead of flooding the whole graph, a search is started from each
+         * neighbor of the removed node and the searches are advanced in lockstep.
+         * Searches that run into each other are unioned, and a search that runs
+         * out of nodes before meeting the rest is a disconnected piece that gets
+         * moved into a graph of its own. The largest piece is never walked in full,
+         * so the work is bounded by the size of the smaller pieces.
+         */
+        private void removeNode(ChargeNode removed) {
+            if (isNull() || !contains(removed))
+                return;
+            unlink(removed);
+            removed.chargeGraph = NULL_GRAPH;
+
+            List<ChargeNode> neighbors = new ArrayList<>();
+            removed.forConnections(n -> {
+                if (n.chargeGraph == this)
+                    neighbors.add(n);
+            });
+            if (neighbors.size() > 1)
+                splitAround(neighbors);
+            if (size() < 2)
+                destroy(true);
+        }
+
+        private void splitAround(List<ChargeNode> neighbors) {
+            Map<ChargeNode, SplitSearch> owners = new HashMap<>();
+            List<SplitSearch> searches = new ArrayList<>(neighbors.size());
+            for (ChargeNode neighbor : neighbors) {
+                SplitSearch search = new SplitSearch(neighbor);
+                owners.put(neighbor, search);
+                searches.add(search);
+            }
+
+            List<ChargeNode> adjacent = new ArrayList<>();
+            int live = searches.size();
+            while (live > 1) {
+                for (SplitSearch search : searches) {
+                    if (live <= 1)
+                        break;
+                    if (!search.isLive())
+                        continue;
+                    ChargeNode current = search.frontier.poll();
+                    if (current != null) {
+                        adjacent.clear();
+                        current.forConnections(adjacent::add);
+                        for (ChargeNode next : adjacent) {
+                            if (next.chargeGraph != this)
+                                continue;
+                            SplitSearch root = search.find();
+                            SplitSearch owner = owners.get(next);
+                            if (owner == null) {
+                                owners.put(next, root);
+                                root.visit(next);
+                            } else {
+                                owner = owner.find();
+                                if (owner != root) {
+                                    SplitSearch.union(owner, root);
+                                    live--;
+                                }
+                            }
+                        }
+                    }
+                    SplitSearch root = search.find();
+                    if (root.frontier.isEmpty() && live > 1) {
+                        root.done = true;
+                        live--;
+                        splitOff(root.visited);
+                    }
+                }
+            }
+        }
+
+        private void splitOff(Collection<ChargeNode> nodes) {
+            nodes.forEach(this::unlink);
+            if (nodes.size() > 1) {
+                ChargeGraph graph = new ChargeGraph();
+                chargeGraphs.add(graph);
+                graph.addAll(nodes);
+                stats.graphsRebuilt++;
+            } else {
+                nodes.forEach(n -> n.chargeGraph = NULL_GRAPH);
+            }
+        }
+
         private void destroy(boolean touchNodes) {
             if (isActive()) {
                 Game.log(Level.INFO, "Destroying graph: {0}", this);
@@ -236,7 +465,13 @@ public class ChargeNetwork {
                 if (touchNodes) {
                     forEach(n -> n.chargeGraph = NULL_GRAPH);
                 }
-                chargeBatteries.clear();
+                chargeBatteries.forEach((n, b) -> {
+                    if (b.pool == this) {
+                        releaseBattery(b);
+                        batterySaveData.updateBatteryRecord(n.pos, b);
+                    }
+                });
+                clearPool();
                 super.clear();
                 chargeGraphs.remove(this);
             }
@@ -248,25 +483,27 @@ public class ChargeNetwork {
         }
 
         private void tick() {
+            double chargeBefore = pooledCharge;
             removeCharge(totalMaintenanceCost);
-            double averageCharge = chargeBatteries.values().stream().mapToDouble(IChargeBlock.ChargeBattery::getCharge).average().orElse(0.0);
-            if (averageCharge < 0.0)
-                averageCharge = 0.0;
-            double finalCharge = averageCharge;
-            chargeBatteries.entrySet().forEach(b -> {
-                b.getValue().setCharge(finalCharge);
-                batterySaveData.updateBatteryRecord(b.getKey().pos, b.getValue());
-            });
+            if (isInfinite() && pooledCharge < finiteCapacity)
+                pooledCharge = finiteCapacity;
+            if (pooledCharge < 0.0)
+                pooledCharge = 0.0;
+            // This only asks for a save, the regions whose charges actually changed are picked out when it runs
+            if (pooledCharge != chargeBefore)
+                batterySaveData.markDirty();
             averageUsagePerTick = (averageUsagePerTick * 49D + chargeUsedThisTick) / 50D;
             chargeUsedThisTick = 0.0;
         }
 
         public double getCharge() {
-            return chargeBatteries.values().stream().mapToDouble(IChargeBlock.ChargeBattery::getCharge).sum();
+            if (isInfinite())
+                return capacity;
+            return pooledCharge;
         }
 
         public double getCapacity() {
-            return chargeBatteries.values().stream().mapToDouble(IChargeBlock.ChargeBattery::getCapacity).sum();
+            return capacity;
         }
 
         public int getComparatorOutput() {
@@ -283,7 +520,7 @@ public class ChargeNetwork {
         }
 
         public boolean isInfinite() {
-            return chargeBatteries.values().stream().anyMatch(IChargeBlock.ChargeBattery::isInfinite);
+            return infiniteBatteries > 0;
         }
 
         public boolean isActive() {
@@ -301,22 +538,16 @@ public class ChargeNetwork {
          * @return true if charge could be removed in full
          */
         public boolean useCharge(double amount) {
-            double searchAmount = 0;
-            for (IChargeBlock.ChargeBattery battery : chargeBatteries.values()) {
-                searchAmount += battery.getCharge();
-                if (searchAmount >= amount)
-                    break;
+            if (isInfinite()) {
+                chargeUsedThisTick += amount;
+                return true;
             }
-            if (searchAmount >= amount) {
-                for (Map.Entry<ChargeNode, IChargeBlock.ChargeBattery> battery : chargeBatteries.entrySet()) {
-                    amount -= battery.getValue().removeCharge(amount);
-                    batterySaveData.updateBatteryRecord(battery.getKey().pos, battery.getValue());
-                    if (amount <= 0.0)
-                        break;
-                }
+            if (pooledCharge >= amount) {
+                pooledCharge -= amount;
                 chargeUsedThisTick += amount;
+                return true;
             }
-            return amount <= 0.0;
+            return false;
         }
 
         /**
@@ -326,24 +557,135 @@ public class ChargeNetwork {
          * @return charge removed
          */
         public double removeCharge(double desiredAmount) {
-            double amountNeeded = desiredAmount;
-            for (Map.Entry<ChargeNode, IChargeBlock.ChargeBattery> battery : chargeBatteries.entrySet()) {
-                amountNeeded -= battery.getValue().removeCharge(amountNeeded);
-                batterySaveData.updateBatteryRecord(battery.getKey().pos, battery.getValue());
-                if (amountNeeded <= 0.0)
-                    break;
+            double chargeRemoved = desiredAmount;
+            if (!isInfinite()) {
+                chargeRemoved = Math.min(desiredAmount, Math.max(pooledCharge, 0.0));
+                pooledCharge -= chargeRemoved;
             }
-            double chargeRemoved = desiredAmount - amountNeeded;
             chargeUsedThisTick += chargeRemoved;
             return chargeRemoved;
         }
 
+        /**
+         * Graphs are mutable and can grow very large, so they are compared by identity
+         * rather than by content.
+         */
+        @Override
+        public boolean equals(@Nullable Object object) {
+            return this == object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+
         @Override
         public String toString() {
             return String.format("ChargeGraph{s=%d,b=%d}", size(), chargeBatteries.size());
         }
     }
 
+    /**
+     * One of the searches run by {@link ChargeGraph#removeNode(ChargeNode)}.
+     * Searches that meet are merged, union-find style, into whichever has visited more nodes.
+     */
+    private static class SplitSearch {
+        private final Set<ChargeNode> visited = new HashSet<>();
+        private final Deque<ChargeNode> frontier = new ArrayDeque<>();
+        private SplitSearch parent = this;
+        private boolean done;
+
+        SplitSearch(ChargeNode start) {
+            visit(start);
+        }
+
+        void visit(ChargeNode node) {
+            visited.add(node);
+            frontier.add(node);
+        }
+
+        boolean isLive() {
+            return parent == this && !done;
+        }
+
+        SplitSearch find() {
+            SplitSearch root = this;
+            while (root.parent != root)
+                root = root.parent;
+            SplitSearch current = this;
+            while (current.parent != root) {
+                SplitSearch next = current.parent;
+                current.parent = root;
+                current = next;
+            }
+            return root;
+        }
+
+        static void union(SplitSearch a, SplitSearch b) {
+            SplitSearch big = a.visited.size() >= b.visited.size() ? a : b;
+            SplitSearch small = big == a ? b : a;
+            small.parent = big;
+            big.visited.addAll(small.visited);
+            big.frontier.addAll(small.frontier);
+            small.visited.clear();
+            small.frontier.clear();
+        }
+    }
+
+    public class Stats {
+        private int nodesProcessedLastTick;
+        private long nodesProcessedTotal;
+        private long graphsRebuilt;
+        private long queueTimeLastTick;
+        private long peakQueueTime;
+        private long tickTimeLastTick;
+        private double averageTickTime;
+
+        public int getQueueDepth() {
+            return chargeQueue.size();
+        }
+
+        public int getNodeCount() {
+            return chargeNodes.size();
+        }
+
+        public int getGraphCount() {
+            return chargeGraphs.size();
+        }
+
+        public int getNodesProcessedLastTick() {
+            return nodesProcessedLastTick;
+        }
+
+        public long getNodesProcessedTotal() {
+            return nodesProcessedTotal;
+        }
+
+        /**
+         * @return the number of graphs created, merged or split off
+         */
+        public long getGraphsRebuilt() {
+            return graphsRebuilt;
+        }
+
+        public long getQueueTimeLastTickMicros() {
+            return queueTimeLastTick / 1000L;
+        }
+
+        public long getPeakQueueTimeMicros() {
+            return peakQueueTime / 1000L;
+        }
+
+        public long getTickTimeLastTickMicros() {
+            return tickTimeLastTick / 1000L;
+        }
+
+        public double getAverageTickTimeMicros() {
+            return averageTickTime / 1000D;
+        }
+    }
+
     private class NullGraph extends ChargeGraph {
         @Override
         protected Set<ChargeNode> delegate() {
@@ -386,11 +728,15 @@ public class ChargeNetwork {
         }
 
         private void forConnections(Consumer<ChargeNode> action) {
-            Map<BlockPos, EnumSet<IChargeBlock.ConnectType>> possibleConnections = chargeDef.getConnectType().getPossibleConnectionLocations(pos);
-            for (Map.Entry<BlockPos, EnumSet<IChargeBlock.ConnectType>> connection : possibleConnections.entrySet()) {
-                ChargeNode other = chargeNodes.get(connection.getKey());
-                if (other != null && connection.getValue().contains(other.chargeDef.getConnectType())
-                        && other.chargeDef.getConnectType().getPossibleConnectionLocations(connection.getKey()).get(pos).contains(chargeDef.getConnectType())) {
+            IChargeBlock.ConnectType connectType = chargeDef.getConnectType();
+            for (int i = 0; i < connectType.getConnectionCount(); i++) {
+                int dx = connectType.getOffsetX(i);
+                int dy = connectType.getOffsetY(i);
+                int dz = connectType.getOffsetZ(i);
+                // Reset every iteration, the action may walk connections itself
+                lookupPos.setPos(pos.getX() + dx, pos.getY() + dy, pos.getZ() + dz);
+                ChargeNode other = chargeNodes.get(lookupPos);
+                if (other != null && connectType.canConnect(dx, dy, dz, other.chargeDef.getConnectType())) {
                     action.accept(other);
                 }
             }
@@ -469,43 +815,36 @@ public class ChargeNetwork {
             return chargeGraph.isNull();
         }
 
+        /**
+         * Links this node into the graphs of its neighbors. The largest neighboring
+         * graph absorbs the node and every other neighboring graph, so only the
+         * smaller graphs are ever walked.
+         */
         protected void constructGraph() {
-            Set<ChargeNode> visitedNodes = new HashSet<>();
-            visitedNodes.add(this);
-            Set<ChargeNode> nullNodes = new HashSet<>();
-            nullNodes.add(this);
-            Set<ChargeNode> newNodes = new HashSet<>();
-            newNodes.add(this);
-            TreeSet<ChargeGraph> graphs = new TreeSet<>((o1, o2) -> Integer.compare(o1.size(), o2.size()));
-            graphs.add(chargeGraph);
-            while (!newNodes.isEmpty()) {
-                Set<ChargeNode> currentNodes = new HashSet<>(newNodes);
-                newNodes.clear();
-                for (ChargeNode current : currentNodes) {
-                    current.forConnections(n -> {
-                        if (!visitedNodes.contains(n) && (n.isGraphNull() || !graphs.contains(n.chargeGraph))) {
-                            if (n.isGraphNull())
-                                nullNodes.add(n);
-                            graphs.add(n.chargeGraph);
-                            visitedNodes.add(n);
-                            newNodes.add(n);
-                        }
-                    });
-                }
+            List<ChargeNode> neighbors = new ArrayList<>();
+            forConnections(neighbors::add);
+            if (neighbors.isEmpty())
+                return;
+
+            ChargeGraph largest = chargeGraph.isActive() ? chargeGraph : null;
+            for (ChargeNode neighbor : neighbors) {
+                if (neighbor.chargeGraph.isActive() && (largest == null || neighbor.chargeGraph.size() > largest.size()))
+                    largest = neighbor.chargeGraph;
             }
-            chargeGraph = graphs.pollLast();
-            if (chargeGraph.isNull() && nullNodes.size() > 1) {
-                chargeGraph = new ChargeGraph();
-                chargeGraphs.add(chargeGraph);
+            if (largest == null) {
+                largest = new ChargeGraph();
+                chargeGraphs.add(largest);
+                stats.graphsRebuilt++;
             }
-            if (chargeGraph.isActive()) {
-//                int originalSize = chargeGraph.size();
-                chargeGraph.addAll(nullNodes);
-                for (ChargeGraph graph : graphs) {
-                    chargeGraph.addAll(graph);
-                }
-                graphs.forEach(g -> g.destroy(false));
-//                Game.log(Level.INFO, "Constructing Graph: {0}->{1} Added {2} nodes", pos, chargeGraph, chargeGraph.size() - originalSize);
+
+            if (chargeGraph != largest)
+                largest.absorb(chargeGraph);
+            largest.add(this);
+            for (ChargeNode neighbor : neighbors) {
+                if (neighbor.isGraphNull())
+                    largest.add(neighbor);
+                else
+                    largest.absorb(neighbor.chargeGraph);
             }
         }
 
@@ -20,8 +20,10 @@ import net.minecraft.world.World;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
 
@@ -45,82 +47,173 @@ public interface IChargeBlock {
         ChargeManager.getNetwork(world).deregisterChargeNode(pos);
     }
 
+    /**
+     * Each connect type has a fixed table of the offsets it can connect to and which
+     * connect types are allowed at each of them. The tables are built once so walking
+     * a node's connections doesn't need to allocate anything.
+     */
     enum ConnectType {
 
         TRACK {
             @Override
-            public Map<BlockPos, EnumSet<ConnectType>> getPossibleConnectionLocations(BlockPos pos) {
-                int x = pos.getX();
-                int y = pos.getY();
-                int z = pos.getZ();
-                Map<BlockPos, EnumSet<ConnectType>> positions = new ConnectionMap();
+            protected void addConnections(ConnectionTable table) {
+                table.add(1, 0, 0, NOT_WIRE);
+                table.add(-1, 0, 0, NOT_WIRE);
 
-                EnumSet<ConnectType> all = EnumSet.allOf(ConnectType.class);
-                EnumSet<ConnectType> notWire = EnumSet.complementOf(EnumSet.of(ConnectType.WIRE));
-                EnumSet<ConnectType> track = EnumSet.of(ConnectType.TRACK);
+                table.add(1, 1, 0, TRACK_ONLY);
+                table.add(1, -1, 0, TRACK_ONLY);
 
-                positions.put(new BlockPos(x + 1, y, z), notWire);
-                positions.put(new BlockPos(x - 1, y, z), notWire);
+                table.add(-1, 1, 0, TRACK_ONLY);
+                table.add(-1, -1, 0, TRACK_ONLY);
 
-                positions.put(new BlockPos(x + 1, y + 1, z), track);
-                positions.put(new BlockPos(x + 1, y - 1, z), track);
+                table.add(0, -1, 0, ALL);
 
-                positions.put(new BlockPos(x - 1, y + 1, z), track);
-                positions.put(new BlockPos(x - 1, y - 1, z), track);
+                table.add(0, 0, 1, NOT_WIRE);
+                table.add(0, 0, -1, NOT_WIRE);
 
-                positions.put(new BlockPos(x, y - 1, z), all);
+                table.add(0, 1, 1, TRACK_ONLY);
+                table.add(0, -1, 1, TRACK_ONLY);
 
-                positions.put(new BlockPos(x, y, z + 1), notWire);
-                positions.put(new BlockPos(x, y, z - 1), notWire);
-
-                positions.put(new BlockPos(x, y + 1, z + 1), track);
-                positions.put(new BlockPos(x, y - 1, z + 1), track);
-
-                positions.put(new BlockPos(x, y + 1, z - 1), track);
-                positions.put(new BlockPos(x, y - 1, z - 1), track);
-                return positions;
+                table.add(0, 1, -1, TRACK_ONLY);
+                table.add(0, -1, -1, TRACK_ONLY);
             }
 
         },
         WIRE {
             @Override
-            public Map<BlockPos, EnumSet<ConnectType>> getPossibleConnectionLocations(BlockPos pos) {
-                int x = pos.getX();
-                int y = pos.getY();
-                int z = pos.getZ();
-                Map<BlockPos, EnumSet<ConnectType>> positions = new ConnectionMap();
-
-                EnumSet<ConnectType> all = EnumSet.allOf(ConnectType.class);
-                EnumSet<ConnectType> notTrack = EnumSet.complementOf(EnumSet.of(ConnectType.TRACK));
-
-                positions.put(new BlockPos(x + 1, y, z), notTrack);
-                positions.put(new BlockPos(x - 1, y, z), notTrack);
-                positions.put(new BlockPos(x, y + 1, z), all);
-                positions.put(new BlockPos(x, y - 1, z), notTrack);
-                positions.put(new BlockPos(x, y, z + 1), notTrack);
-                positions.put(new BlockPos(x, y, z - 1), notTrack);
-                return positions;
+            protected void addConnections(ConnectionTable table) {
+                table.add(1, 0, 0, NOT_TRACK);
+                table.add(-1, 0, 0, NOT_TRACK);
+                table.add(0, 1, 0, ALL);
+                table.add(0, -1, 0, NOT_TRACK);
+                table.add(0, 0, 1, NOT_TRACK);
+                table.add(0, 0, -1, NOT_TRACK);
             }
 
         },
         BLOCK {
             @Override
-            public Map<BlockPos, EnumSet<ConnectType>> getPossibleConnectionLocations(BlockPos pos) {
-                Map<BlockPos, EnumSet<ConnectType>> positions = new ConnectionMap();
-
-                EnumSet<ConnectType> all = EnumSet.allOf(ConnectType.class);
-
+            protected void addConnections(ConnectionTable table) {
                 for (EnumFacing facing : EnumFacing.VALUES) {
-                    positions.put(pos.offset(facing), all);
+                    table.add(facing.getFrontOffsetX(), facing.getFrontOffsetY(), facing.getFrontOffsetZ(), ALL);
                 }
-                return positions;
             }
 
         };
 
+        public static final ConnectType[] VALUES = values();
+        private static final int TRACK_ONLY = 1;
+        private static final int WIRE_ONLY = 2;
+        private static final int BLOCK_ONLY = 4;
+        private static final int ALL = TRACK_ONLY | WIRE_ONLY | BLOCK_ONLY;
+        private static final int NOT_WIRE = ALL & ~WIRE_ONLY;
+        private static final int NOT_TRACK = ALL & ~TRACK_ONLY;
+
+        static {
+            for (ConnectType type : VALUES) {
+                ConnectionTable table = new ConnectionTable();
+                type.addConnections(table);
+                type.offsets = table.build();
+                type.allowedMasks = table.masks;
+            }
+        }
+
+        private int[] offsets;
+        private byte[] allowedMasks;
+
+        protected abstract void addConnections(ConnectionTable table);
+
+        /**
+         * @return this type's bit in the masks returned by {@link #getAllowedMask(int)}
+         */
+        public int getMask() {
+            return 1 << ordinal();
+        }
+
+        public int getConnectionCount() {
+            return offsets.length / 4;
+        }
+
+        public int getOffsetX(int connection) {
+            return offsets[connection * 4];
+        }
+
+        public int getOffsetY(int connection) {
+            return offsets[connection * 4 + 1];
+        }
+
+        public int getOffsetZ(int connection) {
+            return offsets[connection * 4 + 2];
+        }
+
+        /**
+         * @return a bitmask of the connect types allowed at the connection, see {@link #getMask()}
+         */
+        public int getAllowedMask(int connection) {
+            return offsets[connection * 4 + 3];
+        }
+
+        /**
+         * @return a bitmask of the connect types allowed at the given offset, zero if none are
+         */
+        public int getAllowedMask(int dx, int dy, int dz) {
+            if (dx < -1 || dx > 1 || dy < -1 || dy > 1 || dz < -1 || dz > 1)
+                return 0;
+            return allowedMasks[ConnectionTable.index(dx, dy, dz)];
+        }
+
+        /**
+         * @return true if a node of the other type at the given offset from this one
+         * connects back to this one
+         */
+        public boolean canConnect(int dx, int dy, int dz, ConnectType other) {
+            return (getAllowedMask(dx, dy, dz) & other.getMask()) != 0
+                    && (other.getAllowedMask(-dx, -dy, -dz) & getMask()) != 0;
+        }
+
+        /**
+         * Builds a map of the possible connections for the given position.
+         *
+         * Allocates a new map on every call, prefer iterating the connection table directly.
+         */
         @Nonnull
-        public abstract Map<BlockPos, EnumSet<ConnectType>> getPossibleConnectionLocations(BlockPos pos);
+        public Map<BlockPos, EnumSet<ConnectType>> getPossibleConnectionLocations(BlockPos pos) {
+            Map<BlockPos, EnumSet<ConnectType>> positions = new ConnectionMap();
+            for (int i = 0; i < getConnectionCount(); i++) {
+                EnumSet<ConnectType> allowed = EnumSet.noneOf(ConnectType.class);
+                for (ConnectType type : VALUES) {
+                    if ((getAllowedMask(i) & type.getMask()) != 0)
+                        allowed.add(type);
+                }
+                positions.put(pos.add(getOffsetX(i), getOffsetY(i), getOffsetZ(i)), allowed);
+            }
+            return positions;
+        }
+
+    }
+
+    final class ConnectionTable {
+        private final List<Integer> entries = new ArrayList<>();
+        private final byte[] masks = new byte[27];
+
+        private ConnectionTable() {
+        }
+
+        private static int index(int dx, int dy, int dz) {
+            return (dx + 1) * 9 + (dy + 1) * 3 + dz + 1;
+        }
 
+        void add(int dx, int dy, int dz, int allowedMask) {
+            entries.add(dx);
+            entries.add(dy);
+            entries.add(dz);
+            entries.add(allowedMask);
+            masks[index(dx, dy, dz)] = (byte) allowedMask;
+        }
+
+        private int[] build() {
+            return entries.stream().mapToInt(Integer::intValue).toArray();
+        }
     }
 
     class ConnectionMap extends ForwardingMap<BlockPos, EnumSet<ConnectType>> {
@@ -189,17 +282,30 @@ public interface IChargeBlock {
         public static final String NBT_CHARGE_TAG = "charge";
         public static final double DEFAULT_MAX_CHARGE = 20000.0;
         private double charge;
+        /**
+         * The graph holding this battery's charge, if any. While a battery is pooled its
+         * charge lives in the graph's running total and is only worked out for this
+         * battery when it is read, saved or removed from the graph.
+         */
+        @Nullable
+        ChargeNetwork.ChargeGraph pool;
+        boolean pooledAsInfinite;
 
         public boolean isInfinite() {
             return false;
         }
 
         public double getCharge() {
+            if (pool != null)
+                return pool.getShare(this);
             return charge;
         }
 
         public void setCharge(double charge) {
-            this.charge = charge;
+            if (pool != null)
+                pool.addPooledCharge(charge - getCharge());
+            else
+                this.charge = charge;
         }
 
         public double getCapacity() {
@@ -207,7 +313,10 @@ public interface IChargeBlock {
         }
 
         public void addCharge(double charge) {
-            this.charge += charge;
+            if (pool != null)
+                pool.addPooledCharge(charge);
+            else
+                this.charge += charge;
         }
 
         /**
@@ -217,15 +326,23 @@ public interface IChargeBlock {
          * @return charge removed
          */
         public double removeCharge(double request) {
-            if (charge >= request) {
-                charge -= request;
-//                lastTickDraw += request;
-                return request;
-            }
-            double ret = charge;
-            charge = 0.0;
-//            lastTickDraw += ret;
-            return ret;
+            double current = getCharge();
+            double removed = current >= request ? request : Math.max(current, 0.0);
+            if (pool != null)
+                pool.addPooledCharge(-removed);
+            else
+                charge -= removed;
+//            lastTickDraw += removed;
+            return removed;
+        }
+
+        /**
+         * Must be called by batteries whose {@link #isInfinite()} result can change,
+         * so the graph holding them can update its accounting.
+         */
+        protected void markInfiniteChanged() {
+            if (pool != null)
+                pool.repoolBattery(this);
         }
     }
 }
@@ -41,6 +41,12 @@ public class TileChargeFeederAdmin extends TileChargeFeeder {
             return 0.0;
         }
 
+        private void setEnabled(boolean enabled) {
+            if (this.enabled != enabled) {
+                this.enabled = enabled;
+                markInfiniteChanged();
+            }
+        }
     }
 
     @Override
@@ -50,7 +56,7 @@ public class TileChargeFeederAdmin extends TileChargeFeeder {
 
     @Override
     public void neighborChanged(IBlockState state, World worldIn, BlockPos pos, Block blockIn) {
-        chargeBattery.enabled = state.getValue(BlockChargeFeeder.REDSTONE);
+        chargeBattery.setEnabled(state.getValue(BlockChargeFeeder.REDSTONE));
     }
 
     @Override
@@ -63,6 +69,6 @@ public class TileChargeFeederAdmin extends TileChargeFeeder {
     @Override
     public void readFromNBT(NBTTagCompound nbt) {
         super.readFromNBT(nbt);
-        chargeBattery.enabled = nbt.getBoolean("enabled");
+        chargeBattery.setEnabled(nbt.getBoolean("enabled"));
     }
 }
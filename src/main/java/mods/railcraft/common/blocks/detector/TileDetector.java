@@ -9,9 +9,11 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.detector;
 
-import mods.railcraft.api.carts.CartToolsAPI;
 import mods.railcraft.common.blocks.RailcraftTickingTileEntity;
 import mods.railcraft.common.carts.CartConstants;
+import mods.railcraft.common.carts.CartIndex;
+import mods.railcraft.common.carts.CartState;
+import mods.railcraft.common.carts.CartTools;
 import mods.railcraft.common.plugins.forge.PowerPlugin;
 import mods.railcraft.common.plugins.forge.WorldPlugin;
 import mods.railcraft.common.util.misc.Game;
@@ -23,21 +25,36 @@ import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.item.EntityMinecart;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class TileDetector extends RailcraftTickingTileEntity implements IGuiReturnHandler {
 
     public static final float SENSITIVITY = 0.2f;
+    /**
+     * Detectors are re-tested when carts come or go or report a change, but
+     * not everything a detector looks at reports changes, so they are also
+     * re-tested at this interval regardless.
+     */
+    private static final int RECHECK_INTERVAL = 20;
     public int powerState;
     @Nonnull
     public Detector detector = Detector.DUMMY;
     //    private boolean tested;
     private int powerDelay;
+    private boolean needsTest = true;
+    private final List<EntityMinecart> lastCarts = new ArrayList<>();
+    private long lastChangeCount;
+    @Nullable
+    private AxisAlignedBB searchArea;
 
     public Detector getDetector() {
         return detector;
@@ -46,6 +63,7 @@ public class TileDetector extends RailcraftTickingTileEntity implements IGuiRetu
     public void setDetector(EnumDetector type) {
         this.detector = type.buildHandler();
         detector.setTile(this);
+        needsTest = true;
         if (worldObj != null) {
             markBlockForUpdate();
             notifyBlocksOfNeighborChange();
@@ -58,7 +76,7 @@ public class TileDetector extends RailcraftTickingTileEntity implements IGuiRetu
     }
 
     public List<EntityMinecart> getCarts() {
-        return CartToolsAPI.getMinecartsOnAllSides(worldObj, getPos(), SENSITIVITY);
+        return CartTools.getMinecartsOnAllSides(worldObj, getPos(), SENSITIVITY);
     }
 
     public boolean blockActivated(EntityPlayer player) {
@@ -67,6 +85,7 @@ public class TileDetector extends RailcraftTickingTileEntity implements IGuiRetu
 
     public void onNeighborBlockChange(Block block) {
         detector.onNeighborBlockChange(block);
+        needsTest = true;
     }
 
     @Override
@@ -130,17 +149,63 @@ public class TileDetector extends RailcraftTickingTileEntity implements IGuiRetu
 //        }
         if (powerDelay > 0)
             powerDelay--;
-        else if (detector.updateInterval() == 0 || clock % detector.updateInterval() == 0) {
-            int newPowerState = detector.shouldTest() ? detector.testCarts(getCarts()) : PowerPlugin.NO_POWER;
-            if (newPowerState != powerState) {
-                powerState = newPowerState;
-                if (powerState > PowerPlugin.NO_POWER)
-                    powerDelay = CartConstants.DETECTED_POWER_OUTPUT_FADE;
-                sendUpdateToClient();
-                worldObj.notifyNeighborsOfStateChange(getPos(), getBlockType());
-                WorldPlugin.notifyBlocksOfNeighborChangeOnSide(worldObj, getPos(), getBlockType(), getBlockState().getValue(BlockDetector.FRONT));
+        else if (detector.updateInterval() > 0) {
+            if (clock % detector.updateInterval() == 0)
+                testCarts(getCarts());
+        } else {
+            List<EntityMinecart> carts = findCarts();
+            boolean cartsChanged = updateLastCarts(carts);
+            if (cartsChanged || needsTest || clock % RECHECK_INTERVAL == 0)
+                testCarts(carts);
+        }
+    }
+
+    private void testCarts(List<EntityMinecart> carts) {
+        needsTest = false;
+        int newPowerState = detector.shouldTest() ? detector.testCarts(carts) : PowerPlugin.NO_POWER;
+        if (newPowerState != powerState) {
+            powerState = newPowerState;
+            if (powerState > PowerPlugin.NO_POWER) {
+                powerDelay = CartConstants.DETECTED_POWER_OUTPUT_FADE;
+                needsTest = true;
             }
+            sendUpdateToClient();
+            worldObj.notifyNeighborsOfStateChange(getPos(), getBlockType());
+            WorldPlugin.notifyBlocksOfNeighborChangeOnSide(worldObj, getPos(), getBlockType(), getBlockState().getValue(BlockDetector.FRONT));
+        }
+    }
+
+    /**
+     * Skips the per side searches entirely when no cart is anywhere near the detector.
+     */
+    private List<EntityMinecart> findCarts() {
+        if (searchArea == null) {
+            BlockPos pos = getPos();
+            searchArea = new AxisAlignedBB(pos.getX() - 1 + SENSITIVITY, pos.getY() - 1 + SENSITIVITY, pos.getZ() - 1 + SENSITIVITY,
+                    pos.getX() + 2 - SENSITIVITY, pos.getY() + 2 - SENSITIVITY, pos.getZ() + 2 - SENSITIVITY);
+        }
+        if (!CartIndex.getIndex(worldObj).hasCarts(searchArea))
+            return Collections.emptyList();
+        return getCarts();
+    }
+
+    /**
+     * Remembers which carts were seen and how many changes they had reported.
+     *
+     * @return true if a cart arrived, left, or reported a change since the last call
+     */
+    private boolean updateLastCarts(List<EntityMinecart> carts) {
+        long changeCount = 0;
+        for (EntityMinecart cart : carts) {
+            changeCount += CartState.get(cart).getChangeCount();
+        }
+        boolean changed = changeCount != lastChangeCount || carts.size() != lastCarts.size() || !lastCarts.containsAll(carts);
+        if (changed) {
+            lastCarts.clear();
+            lastCarts.addAll(carts);
+            lastChangeCount = changeCount;
         }
+        return changed;
     }
 
     @Override
@@ -156,6 +221,7 @@ public class TileDetector extends RailcraftTickingTileEntity implements IGuiRetu
     @Override
     public void readGuiData(RailcraftInputStream data, EntityPlayer sender) throws IOException {
         detector.readGuiData(data, sender);
+        needsTest = true;
     }
 
     @Override
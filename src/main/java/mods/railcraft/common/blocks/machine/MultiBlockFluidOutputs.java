@@ -0,0 +1,100 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) CovertJaguar, 2011-2016
+ http://railcraft.info
+
+ This code is the property of CovertJaguar
+ and may only be used with explicit written
+ permission unless otherwise specified on the
+ license page at http://railcraft.info/wiki/info:license.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.common.blocks.machine;
+
+import mods.railcraft.common.fluids.FluidTools;
+import mods.railcraft.common.fluids.TankManager;
+import mods.railcraft.common.plugins.forge.WorldPlugin;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fluids.capability.IFluidHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+/**
+ * The fluid handlers touching the outside of a formed multiblock, kept by the master
+ * so the structure can feed them in one pass instead of every component looking
+ * up its own neighbors each tick.
+ *
+ * The list is rebuilt when a block next to the structure changes, when the structure
+ * itself changes, or when one of the tiles in it goes away. Tiles that load in with
+ * their chunk don't cause a block update, so it is also rebuilt every so often.
+ *
+ * @author CovertJaguar <http://www.railcraft.info>
+ */
+public class MultiBlockFluidOutputs {
+    private static final int REFRESH_INTERVAL = 200;
+    private final TileMultiBlock master;
+    private final EnumFacing[] sides;
+    private final BiPredicate<TileEntity, TileEntity> filter;
+    private final List<TileEntity> tiles = new ArrayList<TileEntity>();
+    private final List<IFluidHandler> outputs = new ArrayList<IFluidHandler>();
+    private final List<IFluidHandler> outputsView = Collections.unmodifiableList(outputs);
+    private int version = -1;
+    private long nextRefresh;
+
+    /**
+     * @param sides  the sides of each component that may have outputs
+     * @param filter tested with the component and the tile next to it
+     */
+    public MultiBlockFluidOutputs(TileMultiBlock master, EnumFacing[] sides, BiPredicate<TileEntity, TileEntity> filter) {
+        this.master = master;
+        this.sides = sides;
+        this.filter = filter;
+    }
+
+    public List<IFluidHandler> getOutputs() {
+        if (isStale())
+            refresh();
+        return outputsView;
+    }
+
+    private boolean isStale() {
+        if (version != master.getSurroundingsVersion() || master.getWorld().getTotalWorldTime() >= nextRefresh)
+            return true;
+        for (TileEntity tile : tiles) {
+            if (tile.isInvalid())
+                return true;
+        }
+        return false;
+    }
+
+    private void refresh() {
+        World world = master.getWorld();
+        version = master.getSurroundingsVersion();
+        nextRefresh = world.getTotalWorldTime() + REFRESH_INTERVAL;
+        tiles.clear();
+        outputs.clear();
+        for (TileEntity component : master.getComponents()) {
+            for (EnumFacing side : sides) {
+                BlockPos pos = component.getPos().offset(side);
+                if (!world.isBlockLoaded(pos))
+                    continue;
+                TileEntity tile = WorldPlugin.getBlockTile(world, pos);
+                if (tile == null || tiles.contains(tile))
+                    continue;
+                if (tile instanceof TileMultiBlock && ((TileMultiBlock) tile).getMasterBlock() == master)
+                    continue;
+                if (!TankManager.TANK_FILTER.apply(tile, side.getOpposite()) || !filter.test(component, tile))
+                    continue;
+                IFluidHandler handler = FluidTools.getFluidHandler(side.getOpposite(), tile);
+                if (handler != null) {
+                    tiles.add(tile);
+                    outputs.add(handler);
+                }
+            }
+        }
+    }
+}
@@ -15,6 +15,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3i;
 import net.minecraft.world.World;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -25,6 +27,9 @@ public class MultiBlockPattern {
     public final char[][][] pattern;
     private final BlockPos masterOffset;
     private final AxisAlignedBB entityCheckBounds;
+    private BlockPos[] structureOffsets;
+    private Vec3i structureSize;
+    private int[] checkOrder;
 
     public MultiBlockPattern(char[][][] pattern) {
         this(pattern, 1, 1, 1);
@@ -57,6 +62,130 @@ public class MultiBlockPattern {
         return getPatternMarker(x, y, z);
     }
 
+    /**
+     * Markers that are not part of the structure itself, but describe what has to surround it.
+     */
+    public static boolean isSurroundingMarker(char marker) {
+        switch (marker) {
+            case 'A':
+            case 'O':
+            case '*':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The positions of every structure block, relative to the master.
+     */
+    public BlockPos[] getStructureOffsets() {
+        if (structureOffsets == null)
+            indexStructure();
+        return structureOffsets;
+    }
+
+    /**
+     * The size of the box enclosing the structure blocks, not counting the surrounding markers.
+     */
+    public Vec3i getStructureSize() {
+        if (structureSize == null)
+            indexStructure();
+        return structureSize;
+    }
+
+    private void indexStructure() {
+        List<BlockPos> offsets = new ArrayList<BlockPos>();
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (int x = 0; x < getPatternWidthX(); x++) {
+            for (int y = 0; y < getPatternHeight(); y++) {
+                for (int z = 0; z < getPatternWidthZ(); z++) {
+                    if (isSurroundingMarker(getPatternMarker(x, y, z)))
+                        continue;
+                    offsets.add(new BlockPos(x, y, z).subtract(masterOffset));
+                    minX = Math.min(minX, x);
+                    minY = Math.min(minY, y);
+                    minZ = Math.min(minZ, z);
+                    maxX = Math.max(maxX, x);
+                    maxY = Math.max(maxY, y);
+                    maxZ = Math.max(maxZ, z);
+                }
+            }
+        }
+        structureSize = offsets.isEmpty() ? Vec3i.NULL_VECTOR : new Vec3i(maxX - minX + 1, maxY - minY + 1, maxZ - minZ + 1);
+        structureOffsets = offsets.toArray(new BlockPos[offsets.size()]);
+
+        List<Integer> cells = new ArrayList<Integer>();
+        for (int x = 0; x < getPatternWidthX(); x++) {
+            for (int y = 0; y < getPatternHeight(); y++) {
+                for (int z = 0; z < getPatternWidthZ(); z++) {
+                    cells.add(packCell(x, y, z));
+                }
+            }
+        }
+        final int[] bounds = {minX, minY, minZ, maxX, maxY, maxZ};
+        cells.sort((a, b) -> Integer.compare(getCheckPriority(a, bounds), getCheckPriority(b, bounds)));
+        checkOrder = new int[cells.size()];
+        for (int i = 0; i < checkOrder.length; i++) {
+            checkOrder[i] = cells.get(i);
+        }
+    }
+
+    /**
+     * Lower values are checked first. A pattern usually fails on its master,
+     * the corners of the structure or the air inside it, so those come first,
+     * and the cells that accept almost anything come last.
+     */
+    private int getCheckPriority(int cell, int[] bounds) {
+        int x = getCellX(cell);
+        int y = getCellY(cell);
+        int z = getCellZ(cell);
+        char marker = getPatternMarker(x, y, z);
+        switch (marker) {
+            case 'M':
+                return 0;
+            case 'A':
+                return 2;
+            case 'O':
+                return 4;
+            case '*':
+                return 5;
+        }
+        boolean corner = (x == bounds[0] || x == bounds[3])
+                && (y == bounds[1] || y == bounds[4])
+                && (z == bounds[2] || z == bounds[5]);
+        return corner ? 1 : 3;
+    }
+
+    /**
+     * Every cell of the pattern, most selective first, packed with {@link #packCell(int, int, int)}.
+     *
+     * Checking the cells in this order lets a mismatch be found after a few
+     * block lookups rather than after most of the pattern has been read.
+     */
+    public int[] getCheckOrder() {
+        if (checkOrder == null)
+            indexStructure();
+        return checkOrder;
+    }
+
+    public static int packCell(int x, int y, int z) {
+        return x << 16 | y << 8 | z;
+    }
+
+    public static int getCellX(int cell) {
+        return cell >> 16 & 0xFF;
+    }
+
+    public static int getCellY(int cell) {
+        return cell >> 8 & 0xFF;
+    }
+
+    public static int getCellZ(int cell) {
+        return cell & 0xFF;
+    }
+
     public char getPatternMarker(int x, int y, int z) {
         return pattern[y][x][z];
     }
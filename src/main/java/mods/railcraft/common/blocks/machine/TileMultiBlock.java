@@ -29,6 +29,8 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Vec3i;
 import net.minecraft.util.EnumFacing;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.Side;
@@ -36,15 +38,13 @@ import net.minecraftforge.fml.relauncher.Side;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 public abstract class TileMultiBlock extends TileMachineBase {
 
     private static final int UNKNOWN_STATE_RECHECK = 256;
     private static final int NETWORK_RECHECK = 64;
+    private static final int MAX_STRUCTURE_SEARCH = 4096;
     private final Timer netTimer = new Timer();
     private final List<? extends MultiBlockPattern> patterns;
     private final List<TileEntity> components = new LinkedList<TileEntity>();
@@ -58,6 +58,19 @@ public abstract class TileMultiBlock extends TileMachineBase {
     private TileMultiBlock masterBlock;
     private MultiBlockPattern currentPattern;
     private UUID uuidMaster;
+    /**
+     * Master only, the position of every block in the formed structure.
+     */
+    private final Set<BlockPos> members = new HashSet<BlockPos>();
+    /**
+     * Master only, chunks of a restored structure that haven't been loaded since.
+     */
+    private final Set<ChunkPos> pendingChunks = new HashSet<ChunkPos>();
+    private boolean trustSavedStructure;
+    /**
+     * Master only, counts changes to the structure and to the blocks around it.
+     */
+    private int surroundingsVersion;
 
     public TileMultiBlock(List<? extends MultiBlockPattern> patterns) {
         this.patterns = patterns;
@@ -76,6 +89,15 @@ public abstract class TileMultiBlock extends TileMachineBase {
     protected void onMasterChanged() {
     }
 
+    /**
+     * Changes whenever a component joins or leaves the structure, or a block next to
+     * one of them changes, so the master can tell when anything it cached about its
+     * surroundings needs to be looked at again.
+     */
+    public final int getSurroundingsVersion() {
+        return surroundingsVersion;
+    }
+
     private void setMaster(TileMultiBlock master) {
         this.masterBlock = master;
 
@@ -103,10 +125,6 @@ public abstract class TileMultiBlock extends TileMachineBase {
         return posInPattern;
     }
 
-    private void setPatternPosition(byte x, byte y, byte z) {
-        posInPattern = new BlockPos(x, y, z);
-    }
-
     public final MultiBlockPattern getPattern() {
         return currentPattern;
     }
@@ -135,76 +153,317 @@ public abstract class TileMultiBlock extends TileMachineBase {
         super.update();
         if (Game.isHost(worldObj)) {
             if (!tested && (state != MultiBlockState.UNKNOWN || clock % UNKNOWN_STATE_RECHECK == 0))
-                testIfMasterBlock(); //                ClientProxy.getMod().totalMultiBlockUpdates++;
+                if (!trustSavedStructure || !restoreStructure())
+                    testIfMasterBlock(); //                ClientProxy.getMod().totalMultiBlockUpdates++;
+            if (isMaster && tested && !pendingChunks.isEmpty() && clock % UNKNOWN_STATE_RECHECK == 0)
+                checkPendingChunks();
         } else if (requestPacket && netTimer.hasTriggered(worldObj, NETWORK_RECHECK)) {
             PacketDispatcher.sendToServer(new PacketTileRequest(this));
             requestPacket = false;
         }
     }
 
+    /**
+     * Forms every structure this tile could be part of in one pass.
+     *
+     * The connected structure tiles are gathered first. A pattern is only
+     * checked at master positions where all of its structure blocks fall on
+     * those tiles, so each structure is checked once, from its master, rather
+     * than from each of its members. The outcome is pushed to every tile
+     * gathered so none of them has to repeat the work.
+     */
     private void testIfMasterBlock() {
-//        System.out.println("testing structure");
-        state = getMasterBlockState();
-        tested = true;
-        components.clear();
-
-        if (state == MultiBlockState.UNKNOWN)
-            tested = false;
-        else if (state == MultiBlockState.VALID) {
-            isMaster = true;
-//             System.out.println("structure complete");
-
-            int xWidth = currentPattern.getPatternWidthX();
-            int zWidth = currentPattern.getPatternWidthZ();
-            int height = currentPattern.getPatternHeight();
-
-            BlockPos offset = getPos().subtract(currentPattern.getMasterOffset());
+        Set<BlockPos> found = new HashSet<BlockPos>();
+        List<TileMultiBlock> members = new ArrayList<TileMultiBlock>();
+        boolean truncated = findStructureTiles(found, members);
+        boolean unknown = truncated;
+
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+        for (BlockPos pos : found) {
+            minX = Math.min(minX, pos.getX());
+            minY = Math.min(minY, pos.getY());
+            minZ = Math.min(minZ, pos.getZ());
+            maxX = Math.max(maxX, pos.getX());
+            maxY = Math.max(maxY, pos.getY());
+            maxZ = Math.max(maxZ, pos.getZ());
+        }
+        int sizeX = maxX - minX + 1;
+        int sizeY = maxY - minY + 1;
+        int sizeZ = maxZ - minZ + 1;
+
+        Set<BlockPos> claimed = new HashSet<BlockPos>();
+        Map<List<? extends MultiBlockPattern>, ListMultimap<MultiBlockStateReturn, Integer>> results = new IdentityHashMap<List<? extends MultiBlockPattern>, ListMultimap<MultiBlockStateReturn, Integer>>();
+        for (TileMultiBlock member : members) {
+            if (results.containsKey(member.patterns))
+                continue;
+            ListMultimap<MultiBlockStateReturn, Integer> states = ArrayListMultimap.create();
+            results.put(member.patterns, states);
+            for (int index = 0; index < member.patterns.size(); index++) {
+                MultiBlockPattern pattern = member.patterns.get(index);
+                Vec3i size = pattern.getStructureSize();
+                MultiBlockStateReturn best = MultiBlockStateReturn.PATTERN_DOES_NOT_MATCH;
+                if (size.getX() <= sizeX && size.getY() <= sizeY && size.getZ() <= sizeZ) {
+                    for (TileMultiBlock candidate : members) {
+                        if (candidate.patterns != member.patterns || !couldFill(candidate.getPos(), pattern, found, claimed))
+                            continue;
+                        MultiBlockStateReturn result = candidate.isPatternValid(pattern);
+                        if (result == MultiBlockStateReturn.VALID) {
+                            candidate.lockStructure(pattern, claimed);
+                            best = result;
+                        } else if (best == MultiBlockStateReturn.PATTERN_DOES_NOT_MATCH)
+                            best = result;
+                        if (result.type == MultiBlockState.UNKNOWN)
+                            unknown = true;
+                    }
+                }
+                states.put(best, index);
+            }
+        }
 
-            for (byte px = 0; px < xWidth; px++) {
-                for (byte py = 0; py < height; py++) {
-                    for (byte pz = 0; pz < zWidth; pz++) {
+        for (TileMultiBlock member : members) {
+            if (claimed.contains(member.getPos()))
+                continue;
+            member.patternStates.clear();
+            member.patternStates.putAll(results.get(member.patterns));
+            member.components.clear();
+            member.members.clear();
+            member.state = unknown ? MultiBlockState.UNKNOWN : MultiBlockState.INVALID;
+            // Only this tile keeps polling while part of the structure isn't loaded. If the search was cut
+            // short, the leftover tiles each poll, as a search from this tile may never reach past them.
+            member.tested = !unknown || (member != this && !truncated);
+            if (member.isMaster) {
+                member.isMaster = false;
+                member.onMasterReset();
+                member.sendUpdateToClient();
+            }
+        }
+    }
 
-                        char marker = currentPattern.getPatternMarker(px, py, pz);
-                        if (isMapPositionOtherBlock(marker))
-                            continue;
+    /**
+     * Gathers the structure tiles connected to this one.
+     *
+     * @return true if the search didn't reach every connected tile, because it ran
+     * into unloaded chunks or hit {@link #MAX_STRUCTURE_SEARCH}
+     */
+    private boolean findStructureTiles(Set<BlockPos> found, List<TileMultiBlock> members) {
+        boolean unloaded = false;
+        Set<BlockPos> checked = new HashSet<BlockPos>();
+        Deque<TileMultiBlock> queue = new ArrayDeque<TileMultiBlock>();
+        found.add(getPos());
+        members.add(this);
+        queue.add(this);
+        while (!queue.isEmpty() && found.size() < MAX_STRUCTURE_SEARCH) {
+            TileMultiBlock tile = queue.poll();
+            for (EnumFacing side : EnumFacing.VALUES) {
+                BlockPos pos = tile.getPos().offset(side);
+                if (found.contains(pos) || !checked.add(pos))
+                    continue;
+                if (!worldObj.isBlockLoaded(pos)) {
+                    unloaded = true;
+                    continue;
+                }
+                TileEntity other = worldObj.getTileEntity(pos);
+                if (isStructureTile(other) && !other.isInvalid()) {
+                    TileMultiBlock multiBlock = (TileMultiBlock) other;
+                    found.add(pos);
+                    members.add(multiBlock);
+                    queue.add(multiBlock);
+                }
+            }
+        }
+        return unloaded || !queue.isEmpty();
+    }
+
+    /**
+     * Whether every structure block of the pattern, placed with its master at the given position,
+     * would land on a structure tile that hasn't already been claimed by another structure.
+     */
+    private static boolean couldFill(BlockPos master, MultiBlockPattern pattern, Set<BlockPos> found, Set<BlockPos> claimed) {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (BlockPos offset : pattern.getStructureOffsets()) {
+            pos.setPos(master.getX() + offset.getX(), master.getY() + offset.getY(), master.getZ() + offset.getZ());
+            if (!found.contains(pos) || claimed.contains(pos))
+                return false;
+        }
+        return true;
+    }
 
-                        BlockPos pos = new BlockPos(px, py, pz).add(offset);
-
-                        TileEntity tile = worldObj.getTileEntity(pos);
-                        if (tile instanceof TileMultiBlock) {
-                            TileMultiBlock multiBlock = (TileMultiBlock) tile;
-                            if (multiBlock != this)
-                                multiBlock.components.clear();
-                            components.add(multiBlock);
-                            multiBlock.tested = true;
-                            multiBlock.setMaster(this);
-                            multiBlock.setPattern(currentPattern);
-                            multiBlock.setPatternPosition(px, py, pz);
-                            multiBlock.sendUpdateToClient();
+    private void lockStructure(MultiBlockPattern pattern, Set<BlockPos> claimed) {
+        setPattern(pattern);
+        state = MultiBlockState.VALID;
+        tested = true;
+        isMaster = true;
+        components.clear();
+        members.clear();
+        pendingChunks.clear();
+        patternStates.clear();
+        patternStates.put(MultiBlockStateReturn.VALID, patterns.indexOf(pattern));
+
+        int xWidth = currentPattern.getPatternWidthX();
+        int zWidth = currentPattern.getPatternWidthZ();
+        int height = currentPattern.getPatternHeight();
+
+        BlockPos offset = getPos().subtract(currentPattern.getMasterOffset());
+
+        for (byte px = 0; px < xWidth; px++) {
+            for (byte py = 0; py < height; py++) {
+                for (byte pz = 0; pz < zWidth; pz++) {
+
+                    char marker = currentPattern.getPatternMarker(px, py, pz);
+                    if (isMapPositionOtherBlock(marker))
+                        continue;
+
+                    BlockPos pos = new BlockPos(px, py, pz).add(offset);
+
+                    TileEntity tile = worldObj.getTileEntity(pos);
+                    if (tile instanceof TileMultiBlock) {
+                        TileMultiBlock multiBlock = (TileMultiBlock) tile;
+                        claimed.add(pos);
+                        if (multiBlock != this) {
+                            multiBlock.components.clear();
+                            multiBlock.members.clear();
+                            if (multiBlock.isMaster) {
+                                multiBlock.isMaster = false;
+                                multiBlock.onMasterReset();
+                            }
                         }
+                        members.add(pos);
+                        linkMember(multiBlock, new BlockPos(px, py, pz));
                     }
                 }
             }
-        } else if (isMaster) {
-            isMaster = false;
-            onMasterReset();
-            sendUpdateToClient();
         }
     }
 
-    protected void onMasterReset() {
+    private void linkMember(TileMultiBlock multiBlock, BlockPos patternPos) {
+        components.add(multiBlock);
+        surroundingsVersion++;
+        multiBlock.tested = true;
+        multiBlock.trustSavedStructure = false;
+        multiBlock.setMaster(this);
+        multiBlock.setPattern(currentPattern);
+        multiBlock.posInPattern = patternPos;
+        multiBlock.sendUpdateToClient();
+    }
+
+    /**
+     * Picks a structure saved to NBT back up without checking its pattern again.
+     *
+     * The master relinks whatever members are loaded and remembers the chunks
+     * that aren't. Members that load later rejoin through their saved master,
+     * and the pattern is checked again once those chunks are loaded, as that
+     * part of the structure hasn't been seen since the save.
+     *
+     * @return false if the saved structure no longer lines up and a full test is needed
+     */
+    private boolean restoreStructure() {
+        trustSavedStructure = false;
+        if (currentPattern == null)
+            return false;
+        if (isMaster)
+            return restoreAsMaster();
+        return uuidMaster != null && posInPattern != null && rejoinMaster();
+    }
+
+    /**
+     * Whether the saved members are exactly the structure blocks of the current pattern,
+     * which they won't be if the pattern list changed since the save.
+     */
+    private boolean membersFitPattern() {
+        BlockPos[] offsets = currentPattern.getStructureOffsets();
+        if (members.size() != offsets.length)
+            return false;
+        for (BlockPos offset : offsets) {
+            if (!members.contains(getPos().add(offset)))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean restoreAsMaster() {
+        if (!membersFitPattern())
+            return false;
+        for (BlockPos pos : members) {
+            if (!worldObj.isBlockLoaded(pos))
+                continue;
+            TileEntity tile = worldObj.getTileEntity(pos);
+            if (!isStructureTile(tile))
+                return false;
+            TileMultiBlock multiBlock = (TileMultiBlock) tile;
+            if (multiBlock != this && !getUUID().equals(multiBlock.uuidMaster))
+                return false;
+        }
+
+        state = MultiBlockState.VALID;
+        tested = true;
         components.clear();
+        pendingChunks.clear();
+        patternStates.clear();
+        patternStates.put(MultiBlockStateReturn.VALID, patterns.indexOf(currentPattern));
+        for (BlockPos pos : members) {
+            if (!worldObj.isBlockLoaded(pos)) {
+                pendingChunks.add(new ChunkPos(pos));
+                continue;
+            }
+            TileMultiBlock multiBlock = (TileMultiBlock) worldObj.getTileEntity(pos);
+            linkMember(multiBlock, pos.subtract(getPos()).add(currentPattern.getMasterOffset()));
+        }
+        return true;
     }
 
-    protected boolean isMapPositionOtherBlock(char mapPos) {
-        switch (mapPos) {
-            case 'A':
-            case 'O':
-            case '*':
+    private boolean rejoinMaster() {
+        if (MultiBlockPattern.isSurroundingMarker(currentPattern.getPatternMarkerChecked(posInPattern)))
+            return false;
+        BlockPos masterPos = currentPattern.getMasterPosition(getPos(), posInPattern);
+        if (!worldObj.isBlockLoaded(masterPos)) {
+            // The master picks this tile back up when its own chunk loads
+            tested = true;
+            return true;
+        }
+        TileEntity tile = worldObj.getTileEntity(masterPos);
+        if (!isStructureTile(tile))
+            return false;
+        TileMultiBlock master = (TileMultiBlock) tile;
+        if (!master.isMaster || master.currentPattern != currentPattern
+                || !master.getUUID().equals(uuidMaster) || !master.members.contains(getPos()))
+            return false;
+        if (!master.tested) {
+            // Either the master restores itself and links this tile, or it re-forms the structure around it
+            trustSavedStructure = true;
+            return true;
+        }
+        if (master.pendingChunks.contains(new ChunkPos(getPos()))) {
+            master.checkPendingChunks();
+            if (!master.tested)
                 return true;
-            default:
-                return false;
         }
+        master.linkMember(this, posInPattern);
+        return true;
+    }
+
+    /**
+     * Checks the pattern of a restored structure again while some of its chunks
+     * haven't been seen since the save. The pending chunks are only cleared by a
+     * definite result, if part of the pattern isn't loaded yet or something is
+     * standing in it, the master tries again later.
+     */
+    private void checkPendingChunks() {
+        MultiBlockStateReturn result = isPatternValid(currentPattern);
+        if (result == MultiBlockStateReturn.VALID)
+            pendingChunks.clear();
+        else if (result == MultiBlockStateReturn.PATTERN_DOES_NOT_MATCH) {
+            pendingChunks.clear();
+            tested = false;
+        }
+    }
+
+    protected void onMasterReset() {
+        components.clear();
+    }
+
+    protected boolean isMapPositionOtherBlock(char mapPos) {
+        return MultiBlockPattern.isSurroundingMarker(mapPos);
     }
 
     protected boolean isMapPositionValid(BlockPos pos, char mapPos) {
@@ -231,24 +490,6 @@ public abstract class TileMultiBlock extends TileMachineBase {
         return true;
     }
 
-    private MultiBlockState getMasterBlockState() {
-        MultiBlockState endResult = MultiBlockState.INVALID;
-        patternStates.clear();
-        for (MultiBlockPattern map : patterns) {
-            MultiBlockStateReturn result = isPatternValid(map);
-            patternStates.put(result, patterns.indexOf(map));
-            switch (result.type) {
-                case VALID:
-                    setPattern(map);
-                    return result.type;
-                case UNKNOWN:
-                    endResult = MultiBlockState.UNKNOWN;
-            }
-        }
-
-        return endResult;
-    }
-
     private MultiBlockStateReturn isPatternValid(MultiBlockPattern map) {
         int xWidth = map.getPatternWidthX();
         int zWidth = map.getPatternWidthZ();
@@ -256,19 +497,17 @@ public abstract class TileMultiBlock extends TileMachineBase {
 
         BlockPos offset = getPos().subtract(map.getMasterOffset());
 
-        for (int patX = 0; patX < xWidth; patX++) {
-            for (int patY = 0; patY < height; patY++) {
-                for (int patZ = 0; patZ < zWidth; patZ++) {
-                    int x = patX + offset.getX();
-                    int y = patY + offset.getY();
-                    int z = patZ + offset.getZ();
-                    BlockPos pos = new BlockPos(x, y, z);
-                    if (!worldObj.isBlockLoaded(pos))
-                        return MultiBlockStateReturn.NOT_LOADED;
-                    if (!isMapPositionValid(pos, map.getPatternMarker(patX, patY, patZ)))
-                        return MultiBlockStateReturn.PATTERN_DOES_NOT_MATCH;
-                }
-            }
+        if (!WorldPlugin.isAreaLoaded(worldObj, offset, offset.add(xWidth - 1, height - 1, zWidth - 1)))
+            return MultiBlockStateReturn.NOT_LOADED;
+
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int cell : map.getCheckOrder()) {
+            int patX = MultiBlockPattern.getCellX(cell);
+            int patY = MultiBlockPattern.getCellY(cell);
+            int patZ = MultiBlockPattern.getCellZ(cell);
+            pos.setPos(patX + offset.getX(), patY + offset.getY(), patZ + offset.getZ());
+            if (!isMapPositionValid(pos, map.getPatternMarker(patX, patY, patZ)))
+                return MultiBlockStateReturn.PATTERN_DOES_NOT_MATCH;
         }
 
         AxisAlignedBB entityCheckBounds = map.getEntityCheckBounds(getPos());
@@ -299,8 +538,21 @@ public abstract class TileMultiBlock extends TileMachineBase {
     public void onChunkUnload() {
         super.onChunkUnload();
         if (Game.isClient(worldObj)) return;
-        tested = false;
-        scheduleMasterRetest();
+        // Unloading doesn't change the structure, it is picked back up from NBT when the chunk loads again
+        if (isMaster)
+            tested = false;
+        else if (masterBlock != null) {
+            masterBlock.components.remove(this);
+            masterBlock.surroundingsVersion++;
+        }
+    }
+
+    @Override
+    public void onNeighborBlockChange(IBlockState state, Block neighborBlock) {
+        super.onNeighborBlockChange(state, neighborBlock);
+        TileMultiBlock mBlock = getMasterBlock();
+        if (mBlock != null)
+            mBlock.surroundingsVersion++;
     }
 
     @Override
@@ -321,6 +573,7 @@ public abstract class TileMultiBlock extends TileMachineBase {
     }
 
     private void onBlockChange(int depth) {
+        trustSavedStructure = false;
         depth--;
         if (depth < 0)
             return;
@@ -362,6 +615,16 @@ public abstract class TileMultiBlock extends TileMachineBase {
 
         data.setBoolean("master", isMaster);
         data.setByte("pattern", getPatternIndex());
+        if (posInPattern != null)
+            NBTPlugin.writeBlockPos(data, "posInPattern", posInPattern);
+        if (isMaster && state == MultiBlockState.VALID) {
+            long[] memberArray = new long[members.size()];
+            int i = 0;
+            for (BlockPos pos : members) {
+                memberArray[i++] = pos.toLong();
+            }
+            NBTPlugin.writeLongArray(data, "members", memberArray);
+        }
 
         NBTPlugin.writeUUID(data, "uuidMaster", uuidMaster);
         return data;
@@ -372,13 +635,22 @@ public abstract class TileMultiBlock extends TileMachineBase {
         super.readFromNBT(data);
 
         isMaster = data.getBoolean("master");
+        boolean patternResolved = false;
         try {
             currentPattern = patterns.get(data.getByte("pattern"));
+            patternResolved = currentPattern != null;
         } catch (Exception ex) {
             //NOOP
         }
 
         uuidMaster = NBTPlugin.readUUID(data, "uuidMaster");
+        posInPattern = NBTPlugin.readBlockPos(data, "posInPattern");
+
+        members.clear();
+        for (long pos : NBTPlugin.readLongArray(data, "members")) {
+            members.add(BlockPos.fromLong(pos));
+        }
+        trustSavedStructure = patternResolved && (isMaster ? !members.isEmpty() : uuidMaster != null && posInPattern != null);
     }
 
     @Override
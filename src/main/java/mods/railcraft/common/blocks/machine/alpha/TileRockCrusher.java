@@ -30,12 +30,13 @@ import mods.railcraft.common.util.inventory.iterators.InventoryIterator;
 import mods.railcraft.common.util.inventory.manipulators.InventoryManipulator;
 import mods.railcraft.common.util.inventory.wrappers.InventoryCopy;
 import mods.railcraft.common.util.inventory.wrappers.InventoryMapper;
+import mods.railcraft.common.util.misc.AABBFactory;
 import mods.railcraft.common.util.misc.Game;
-import mods.railcraft.common.util.misc.MiscTools;
 import mods.railcraft.common.util.misc.RailcraftDamageSource;
 import mods.railcraft.common.util.sounds.SoundHelper;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.player.EntityPlayer;
@@ -45,9 +46,10 @@ import net.minecraft.inventory.ISidedInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.tileentity.TileEntity;
-import net.minecraft.tileentity.TileEntityHopper;
 import net.minecraft.util.EnumFacing;
+import net.minecraft.util.EntitySelectors;
 import net.minecraft.util.SoundCategory;
+import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
@@ -142,6 +144,9 @@ public class TileRockCrusher extends TileMultiBlockInventory implements IEnergyR
     private EnergyStorage energyStorage;
     private boolean isWorking;
     private boolean paused;
+    @Nullable
+    private AxisAlignedBB captureBox;
+    private int captureBoxVersion = -1;
 
     @SuppressWarnings("unused")
     public TileRockCrusher() {
@@ -212,6 +217,50 @@ public class TileRockCrusher extends TileMultiBlockInventory implements IEnergyR
         return true;
     }
 
+    /**
+     * The space on top of the whole crusher, worked out again only when the structure changes.
+     */
+    private AxisAlignedBB getCaptureBox() {
+        if (captureBox == null || captureBoxVersion != getSurroundingsVersion()) {
+            captureBoxVersion = getSurroundingsVersion();
+            AABBFactory factory = AABBFactory.start().createBoxForTileAt(getPos());
+            for (TileEntity component : getComponents()) {
+                BlockPos pos = component.getPos();
+                factory.expandToCoordinate(pos.getX(), pos.getY(), pos.getZ());
+                factory.expandToCoordinate(pos.getX() + 1, pos.getY() + 1, pos.getZ() + 1);
+            }
+            AxisAlignedBB structure = factory.build();
+            captureBox = AABBFactory.start().fromAABB(structure).setMinY(structure.maxY).setMaxY(structure.maxY + 1).build();
+        }
+        return captureBox;
+    }
+
+    /**
+     * Pulls in the items lying on top of the crusher and hurts anything standing there,
+     * with a single entity search for the whole structure.
+     */
+    private void captureEntities() {
+        List<Entity> entities = worldObj.getEntitiesWithinAABB(Entity.class, getCaptureBox(),
+                e -> e != null && e.isEntityAlive() && (e instanceof EntityItem || (e instanceof EntityLivingBase && EntitySelectors.NOT_SPECTATING.apply(e))));
+        for (Entity entity : entities) {
+            if (entity instanceof EntityItem) {
+                if (!useMasterEnergy(SUCKING_POWER_COST, false))
+                    continue;
+                EntityItem item = (EntityItem) entity;
+                ItemStack stack = item.getEntityItem();
+                ItemStack remainder = InventoryManipulator.get((IInventory) invInput).addStack(stack.copy());
+                if (remainder != null && remainder.stackSize >= stack.stackSize)
+                    continue;
+                useMasterEnergy(SUCKING_POWER_COST, true);
+                if (remainder == null)
+                    item.setDead();
+                else
+                    item.setEntityItemStack(remainder);
+            } else if (useMasterEnergy(KILLING_POWER_COST, false) && entity.attackEntityFrom(RailcraftDamageSource.CRUSHER, 10))
+                useMasterEnergy(KILLING_POWER_COST, true);
+        }
+    }
+
     private boolean useMasterEnergy(int amount, boolean doRemove) {
         TileRockCrusher mBlock = (TileRockCrusher) getMasterBlock();
         return mBlock != null && (mBlock.energyStorage == null || mBlock.energyStorage.extractEnergy(amount, !doRemove) == amount);
@@ -222,27 +271,8 @@ public class TileRockCrusher extends TileMultiBlockInventory implements IEnergyR
         super.update();
 
         if (Game.isHost(getWorld())) {
-            BlockPos pos = getPos();
-            double x = pos.getX();
-            double y = pos.getZ();
-            double z = pos.getZ();
-
-            if (isStructureValid()) {
-                // TileEntityHopper.getItemsAroundAPointOrSomethingLikeThat
-                for (EntityItem item : TileEntityHopper.getCaptureItems(getWorld(), x, y + 1, z)) {
-                    if (item != null && useMasterEnergy(SUCKING_POWER_COST, false)) {
-                        ItemStack stack = item.getEntityItem().copy();
-                        InventoryManipulator.get((IInventory) invInput).addStack(stack);
-                        useMasterEnergy(SUCKING_POWER_COST, true);
-                        item.setDead();
-                    }
-                }
-
-                EntityLivingBase entity = MiscTools.getEntityAt(worldObj, EntityLivingBase.class, getPos().up());
-                if (entity != null && useMasterEnergy(KILLING_POWER_COST, false))
-                    if (entity.attackEntityFrom(RailcraftDamageSource.CRUSHER, 10))
-                        useMasterEnergy(KILLING_POWER_COST, true);
-            }
+            if (isMaster() && isStructureValid() && clock % RailcraftConfig.rockCrusherCaptureInterval() == 0)
+                captureEntities();
 
             if (isMaster()) {
                 if (clock % 16 == 0)
@@ -9,6 +9,7 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.machine.alpha;
 
+import mods.railcraft.common.blocks.machine.MultiBlockFluidOutputs;
 import mods.railcraft.common.blocks.machine.MultiBlockPattern;
 import mods.railcraft.common.blocks.machine.TileMultiBlock;
 import mods.railcraft.common.blocks.machine.beta.TileBoilerFirebox;
@@ -29,7 +30,6 @@ import mods.railcraft.common.plugins.ic2.TileIC2MultiEmitterDelegate;
 import mods.railcraft.common.util.inventory.InvTools;
 import mods.railcraft.common.util.inventory.StandaloneInventory;
 import mods.railcraft.common.util.misc.Game;
-import mods.railcraft.common.util.misc.Predicates;
 import mods.railcraft.common.util.steam.ISteamUser;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
@@ -79,6 +79,8 @@ public class TileSteamTurbine extends TileMultiBlock implements IMultiEmitterDel
     protected final FilteredTank tankSteam = new FilteredTank(FluidTools.BUCKET_VOLUME * 4, this);
     protected final FilteredTank tankWater = new FilteredTank(FluidTools.BUCKET_VOLUME * 4, this);
     protected final TankManager tankManager = new TankManager();
+    private final MultiBlockFluidOutputs waterOutputs = new MultiBlockFluidOutputs(this, EnumFacing.HORIZONTALS,
+            (component, tile) -> tile instanceof TileBoilerFirebox);
     public static final int TANK_STEAM = 0;
     public static final int TANK_WATER = 1;
     private byte gaugeState;
@@ -221,11 +223,10 @@ public class TileSteamTurbine extends TileMultiBlock implements IMultiEmitterDel
                     WorldPlugin.addBlockEvent(worldObj, getPos(), getBlockType(), 1, gaugeState);
                 }
             }
-        }
 
-        TankManager tMan = getTankManager();
-        if (tMan != null)
-            tMan.push(tileCache, Predicates.instanceOf(TileBoilerFirebox.class), EnumFacing.HORIZONTALS, TANK_WATER, WATER_OUTPUT);
+            if (getMasterBlock() == this)
+                tankManager.distribute(waterOutputs.getOutputs(), TANK_WATER, WATER_OUTPUT);
+        }
     }
 
     private void addToNet() {
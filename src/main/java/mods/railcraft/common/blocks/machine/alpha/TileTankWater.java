@@ -9,13 +9,13 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.machine.alpha;
 
+import mods.railcraft.common.blocks.machine.MultiBlockFluidOutputs;
 import mods.railcraft.common.blocks.machine.MultiBlockPattern;
 import mods.railcraft.common.blocks.machine.TileMultiBlock;
 import mods.railcraft.common.blocks.machine.TileTank;
 import mods.railcraft.common.fluids.FluidItemHelper;
 import mods.railcraft.common.fluids.FluidTools;
 import mods.railcraft.common.fluids.Fluids;
-import mods.railcraft.common.fluids.TankManager;
 import mods.railcraft.common.fluids.tanks.FilteredTank;
 import mods.railcraft.common.gui.EnumGui;
 import mods.railcraft.common.gui.GuiHandler;
@@ -23,7 +23,6 @@ import mods.railcraft.common.gui.slots.SlotWaterOrEmpty;
 import mods.railcraft.common.plugins.forge.LocalizationPlugin;
 import mods.railcraft.common.util.inventory.InvTools;
 import mods.railcraft.common.util.misc.Game;
-import mods.railcraft.common.util.misc.Predicates;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
@@ -61,6 +60,8 @@ public class TileTankWater extends TileTank {
     private static final EnumFacing[] LIQUID_OUTPUTS = {EnumFacing.DOWN, EnumFacing.EAST, EnumFacing.WEST, EnumFacing.NORTH, EnumFacing.SOUTH};
     private static final List<MultiBlockPattern> patterns = new ArrayList<MultiBlockPattern>();
     private final FilteredTank tank;
+    private final MultiBlockFluidOutputs waterOutputs = new MultiBlockFluidOutputs(this, LIQUID_OUTPUTS,
+            (component, tile) -> !(tile instanceof TileTankWater));
 
     static {
         char[][][] map = {
@@ -184,9 +185,8 @@ public class TileTankWater extends TileTank {
 //                    FluidTools.processContainers(tankManager.get(0), this, SLOT_INPUT, SLOT_OUTPUT);
             }
 
-            TankManager tMan = getTankManager();
-            if (tMan != null)
-                tMan.push(tileCache, Predicates.notInstanceOf(getClass()), LIQUID_OUTPUTS, 0, OUTPUT_RATE);
+            if (getMasterBlock() == this)
+                tankManager.distribute(waterOutputs.getOutputs(), 0, OUTPUT_RATE);
         }
     }
 
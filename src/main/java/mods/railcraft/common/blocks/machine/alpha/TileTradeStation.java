@@ -19,6 +19,7 @@ import mods.railcraft.common.plugins.forge.AIPlugin;
 import mods.railcraft.common.util.inventory.InvTools;
 import mods.railcraft.common.util.inventory.PhantomInventory;
 import mods.railcraft.common.util.inventory.wrappers.InventoryMapper;
+import mods.railcraft.common.util.misc.Game;
 import mods.railcraft.common.util.misc.MiscTools;
 import mods.railcraft.common.util.network.IGuiReturnHandler;
 import mods.railcraft.common.util.network.RailcraftInputStream;
@@ -30,6 +31,7 @@ import net.minecraft.entity.passive.EntityVillager;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.IInventory;
 import net.minecraft.inventory.ISidedInventory;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.EnumFacing;
@@ -40,7 +42,7 @@ import net.minecraftforge.fml.common.registry.VillagerRegistry;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
-import java.util.List;
+import java.util.*;
 
 /**
  * @author CovertJaguar <http://www.railcraft.info/>
@@ -53,6 +55,7 @@ public class TileTradeStation extends TileMachineItem implements IGuiReturnHandl
     }
 
     private static final int AREA = 6;
+    private static final int VILLAGER_REFRESH_INTERVAL = 20;
     private static final int[] SLOTS = InvTools.buildSlotArray(0, 16);
 
     private VillagerRegistry.VillagerProfession profession = VillagerRegistry.instance().getRegistry().getValue(new ResourceLocation("minecraft:farmer"));
@@ -60,6 +63,10 @@ public class TileTradeStation extends TileMachineItem implements IGuiReturnHandl
     private final InventoryMapper invInput;
     private final InventoryMapper invOutput;
     protected EnumFacing direction = EnumFacing.NORTH;
+    /**
+     * The villagers in range as of the last search, with their offers indexed.
+     */
+    private final Map<EntityVillager, VillagerTrades> villagers = new LinkedHashMap<EntityVillager, VillagerTrades>();
 
     public TileTradeStation() {
         setInventorySize(16);
@@ -97,19 +104,40 @@ public class TileTradeStation extends TileMachineItem implements IGuiReturnHandl
     public void update() {
         super.update();
 
+        if (Game.isClient(worldObj))
+            return;
+
         if (clock % 256 == 0)
             modifyNearbyAI();
 
-        List<EntityVillager> villagers = findNearbyVillagers(AREA);
-        attemptTrade(villagers, 0);
-        attemptTrade(villagers, 1);
-        attemptTrade(villagers, 2);
+        if (clock % VILLAGER_REFRESH_INTERVAL == 0)
+            refreshVillagers();
+
+        if (villagers.isEmpty())
+            return;
+
+        attemptTrade(0);
+        attemptTrade(1);
+        attemptTrade(2);
     }
 
     private void modifyNearbyAI() {
         for (EntityVillager villager : findNearbyVillagers(20)) {
-            AIPlugin.addAITask(villager, 9, new EntityAIWatchBlock(villager, getMachineType().getDefaultState(), 4, 0.08F));
-            AIPlugin.addAITask(villager, 9, new EntityAIMoveToBlock(villager, getMachineType().getDefaultState(), 16, 0.002F));
+            if (!AIPlugin.hasAITask(villager, EntityAIWatchBlock.class))
+                AIPlugin.addAITask(villager, 9, new EntityAIWatchBlock(villager, getMachineType().getDefaultState(), 4, 0.08F));
+            if (!AIPlugin.hasAITask(villager, EntityAIMoveToBlock.class))
+                AIPlugin.addAITask(villager, 9, new EntityAIMoveToBlock(villager, getMachineType().getDefaultState(), 16, 0.002F));
+        }
+    }
+
+    /**
+     * Villagers that are still in range keep their index, new ones are added.
+     */
+    private void refreshVillagers() {
+        List<EntityVillager> found = findNearbyVillagers(AREA);
+        villagers.keySet().retainAll(found);
+        for (EntityVillager villager : found) {
+            villagers.computeIfAbsent(villager, VillagerTrades::new);
         }
     }
 
@@ -120,13 +148,22 @@ public class TileTradeStation extends TileMachineItem implements IGuiReturnHandl
         return MiscTools.getNearbyEntities(worldObj, EntityVillager.class, x, y - 1, y + 3, z, range);
     }
 
-    private boolean attemptTrade(List<EntityVillager> villagers, int tradeSet) {
+    private boolean attemptTrade(int tradeSet) {
         ItemStack buy1 = recipeSlots.getStackInSlot(tradeSet * 3 + 0);
         ItemStack buy2 = recipeSlots.getStackInSlot(tradeSet * 3 + 1);
         ItemStack sell = recipeSlots.getStackInSlot(tradeSet * 3 + 2);
-        for (EntityVillager villager : villagers) {
-            MerchantRecipeList recipes = villager.getRecipes(null);
-            for (MerchantRecipe recipe : recipes) {
+        // Every offer wants at least one item and gives one, so an incomplete trade can't match anything
+        if (buy1 == null || sell == null)
+            return false;
+        Iterator<VillagerTrades> it = villagers.values().iterator();
+        while (it.hasNext()) {
+            VillagerTrades trades = it.next();
+            if (!trades.villager.isEntityAlive()) {
+                it.remove();
+                continue;
+            }
+            EntityVillager villager = trades.villager;
+            for (MerchantRecipe recipe : trades.getOffers(buy1.getItem())) {
                 if (recipe.isRecipeDisabled())
                     continue;
                 //noinspection ConstantConditions
@@ -170,6 +207,41 @@ public class TileTradeStation extends TileMachineItem implements IGuiReturnHandl
         InvTools.moveItemStack(recipe.getItemToSell().copy(), invOutput);
     }
 
+    /**
+     * A villager's offers indexed by the first item they ask for. The index is
+     * rebuilt when the villager's offer list is replaced or gains new offers.
+     */
+    private static final class VillagerTrades {
+        private final EntityVillager villager;
+        private final Map<Item, List<MerchantRecipe>> offersByInput = new HashMap<Item, List<MerchantRecipe>>();
+        @Nullable
+        private MerchantRecipeList indexed;
+        private int indexedSize;
+
+        private VillagerTrades(EntityVillager villager) {
+            this.villager = villager;
+        }
+
+        private List<MerchantRecipe> getOffers(Item input) {
+            MerchantRecipeList recipes = villager.getRecipes(null);
+            if (recipes == null)
+                return Collections.emptyList();
+            if (recipes != indexed || recipes.size() != indexedSize) {
+                indexed = recipes;
+                indexedSize = recipes.size();
+                offersByInput.clear();
+                for (MerchantRecipe recipe : recipes) {
+                    ItemStack toBuy = recipe.getItemToBuy();
+                    //noinspection ConstantConditions
+                    if (toBuy != null && toBuy.getItem() != null)
+                        offersByInput.computeIfAbsent(toBuy.getItem(), k -> new ArrayList<MerchantRecipe>()).add(recipe);
+                }
+            }
+            List<MerchantRecipe> offers = offersByInput.get(input);
+            return offers == null ? Collections.<MerchantRecipe>emptyList() : offers;
+        }
+    }
+
     @Override
     public void onBlockPlacedBy(IBlockState state, @Nullable EntityLivingBase placer, ItemStack stack) {
         super.onBlockPlacedBy(state, placer, stack);
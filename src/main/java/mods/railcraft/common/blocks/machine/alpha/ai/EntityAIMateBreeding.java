@@ -8,6 +8,7 @@
  */
 package mods.railcraft.common.blocks.machine.alpha.ai;
 
+import mods.railcraft.common.plugins.forge.ReflectionPlugin;
 import net.minecraft.entity.EntityAgeable;
 import net.minecraft.entity.ai.EntityAIBase;
 import net.minecraft.entity.ai.EntityAIMate;
@@ -15,7 +16,6 @@ import net.minecraft.entity.ai.EntityAISit;
 import net.minecraft.entity.ai.EntityAITasks.EntityAITaskEntry;
 import net.minecraft.entity.passive.*;
 import net.minecraft.world.World;
-import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
 
 import java.util.Iterator;
 import java.util.List;
@@ -26,6 +26,7 @@ import static net.minecraft.util.EnumParticleTypes.HEART;
 public class EntityAIMateBreeding extends EntityAIBase {
 
     private static final int MAX_ANIMALS = 6;
+    private static final ReflectionPlugin.FieldAccessor<EntityTameable, EntityAISit> AI_SIT = ReflectionPlugin.field(EntityTameable.class, 0);
     private final EntityAnimal theAnimal;
     final World theWorld;
     /**
@@ -81,7 +82,7 @@ public class EntityAIMateBreeding extends EntityAIBase {
             EntityAISitBred aiSit = new EntityAISitBred((EntityTameable) animal);
             animal.tasks.addTask(sitPriority, aiSit);
 //            ObfuscationReflectionHelper.setPrivateValue(EntityTameable.class, (EntityTameable)animal, aiSit, "d", "aiSit");
-            ObfuscationReflectionHelper.setPrivateValue(EntityTameable.class, (EntityTameable) animal, aiSit, 0);
+            AI_SIT.set((EntityTameable) animal, aiSit);
         }
     }
 
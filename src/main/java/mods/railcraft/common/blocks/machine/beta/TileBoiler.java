@@ -9,6 +9,7 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.machine.beta;
 
+import mods.railcraft.common.blocks.machine.MultiBlockFluidOutputs;
 import mods.railcraft.common.blocks.machine.MultiBlockPattern;
 import mods.railcraft.common.blocks.machine.TileMultiBlock;
 import mods.railcraft.common.fluids.FluidTools;
@@ -60,6 +61,8 @@ public abstract class TileBoiler extends TileMultiBlock implements IBoilerContai
     protected final TankManager tankManager = new TankManager();
     protected final FilteredTank tankWater;
     protected final FilteredTank tankSteam;
+    private final MultiBlockFluidOutputs steamOutputs = new MultiBlockFluidOutputs(this, EnumFacing.VALUES,
+            (component, tile) -> ((TileBoiler) component).getOutputFilter().test(tile));
     private boolean explode;
 
     static {
@@ -224,12 +227,13 @@ public abstract class TileBoiler extends TileMultiBlock implements IBoilerContai
                 explode = false;
                 return;
             }
+            // The master feeds every steam user around the structure, the other components leave it be
             TileBoilerFirebox mBlock = (TileBoilerFirebox) getMasterBlock();
-            if (mBlock != null) {
-                StandardTank tank = mBlock.tankManager.get(TANK_STEAM);
+            if (mBlock == this) {
+                StandardTank tank = tankManager.get(TANK_STEAM);
                 FluidStack steam = tank.getFluid();
                 if (steam != null && (!mBlock.boiler.isBoiling() || steam.amount >= tank.getCapacity() / 2))
-                    mBlock.tankManager.push(tileCache, getOutputFilter(), EnumFacing.VALUES, TANK_STEAM, TRANSFER_RATE);
+                    tankManager.distribute(steamOutputs.getOutputs(), TANK_STEAM, TRANSFER_RATE);
             }
         }
     }
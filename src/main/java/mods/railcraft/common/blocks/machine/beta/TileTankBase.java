@@ -10,6 +10,7 @@
 package mods.railcraft.common.blocks.machine.beta;
 
 import mods.railcraft.common.blocks.machine.ITankTile;
+import mods.railcraft.common.blocks.machine.MultiBlockFluidOutputs;
 import mods.railcraft.common.blocks.machine.MultiBlockPattern;
 import mods.railcraft.common.blocks.machine.TileMultiBlock;
 import mods.railcraft.common.core.RailcraftConfig;
@@ -75,6 +76,8 @@ public abstract class TileTankBase extends TileMultiBlock implements ITankTile {
     private static final List<MultiBlockPattern> patterns = buildPatterns();
     protected final StandardTank tank = new StandardTank(64 * FluidTools.BUCKET_VOLUME, this);
     protected final TankManager tankManager = new TankManager();
+    private final MultiBlockFluidOutputs valveOutputs = new MultiBlockFluidOutputs(this, TileTankIronValve.FLUID_OUTPUTS,
+            (component, tile) -> component instanceof TileTankIronValve && ((TileTankIronValve) component).isOutputValve() && !(tile instanceof TileTankBase));
     private final StandaloneInventory inv;
     private final Timer networkTimer = new Timer();
     private EnumColor color = EnumColor.WHITE;
@@ -581,6 +584,9 @@ public abstract class TileTankBase extends TileMultiBlock implements ITankTile {
 
                 if (networkTimer.hasTriggered(worldObj, NETWORK_UPDATE_INTERVAL))
                     syncClient();
+
+                if (getMasterBlock() == this)
+                    tankManager.distribute(valveOutputs.getOutputs(), 0, TileTankIronValve.FLOW_RATE);
             }
     }
 
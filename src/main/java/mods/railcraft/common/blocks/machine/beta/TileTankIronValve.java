@@ -16,7 +16,6 @@ import mods.railcraft.common.fluids.TankManager;
 import mods.railcraft.common.fluids.tanks.FakeTank;
 import mods.railcraft.common.fluids.tanks.StandardTank;
 import mods.railcraft.common.util.misc.Game;
-import mods.railcraft.common.util.misc.Predicates;
 import net.minecraft.tileentity.TileEntity;
 import net.minecraft.util.EnumFacing;
 import net.minecraftforge.fluids.FluidStack;
@@ -30,8 +29,8 @@ import javax.annotation.Nullable;
  */
 public class TileTankIronValve extends TileTankBase implements IFluidHandler, ITileCompare {
 
-    private static final EnumFacing[] FLUID_OUTPUTS = {EnumFacing.DOWN};
-    private static final int FLOW_RATE = FluidTools.BUCKET_VOLUME;
+    static final EnumFacing[] FLUID_OUTPUTS = {EnumFacing.DOWN};
+    static final int FLOW_RATE = FluidTools.BUCKET_VOLUME;
     private static final byte FILL_INCREMENT = 1;
     private final StandardTank fillTank = new StandardTank(20);
     private int previousComparatorValue;
@@ -70,6 +69,13 @@ public class TileTankIronValve extends TileTankBase implements IFluidHandler, IT
         return EnumMachineBeta.TANK_IRON_VALVE;
     }
 
+    /**
+     * Valves in the bottom layer drain the tank into whatever is below them.
+     */
+    boolean isOutputValve() {
+        return getPatternPosition().getY() - getPattern().getMasterOffset().getY() == 0;
+    }
+
     @Override
     public void update() {
         super.update();
@@ -115,12 +121,6 @@ public class TileTankIronValve extends TileTankBase implements IFluidHandler, IT
             }
         }
 
-        if (getPatternPosition().getY() - getPattern().getMasterOffset().getY() == 0) {
-            TankManager tMan = getTankManager();
-            if (tMan != null)
-                tMan.push(tileCache, Predicates.notInstanceOf(TileTankBase.class), FLUID_OUTPUTS, 0, FLOW_RATE);
-        }
-
         TileMultiBlock masterBlock = getMasterBlock();
         if (masterBlock instanceof TileTankBase) {
             TileTankBase masterTileTankBase = (TileTankBase) masterBlock;
@@ -9,7 +9,6 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.machine.manipulator;
 
-import mods.railcraft.api.carts.CartToolsAPI;
 import mods.railcraft.api.core.items.IMinecartItem;
 import mods.railcraft.common.carts.CartTools;
 import mods.railcraft.common.core.RailcraftConfig;
@@ -57,7 +56,7 @@ public class TileDispenserCart extends TileManipulator {
     }
 
     public void onPulse() {
-        EntityMinecart cart = CartToolsAPI.getMinecartOnSide(worldObj, getPos(), 0, facing);
+        EntityMinecart cart = CartTools.getMinecartOnSide(worldObj, getPos(), 0, facing);
         if (cart == null) {
             if (timeSinceLastSpawn > RailcraftConfig.getCartDispenserMinDelay() * 20)
                 for (int ii = 0; ii < getSizeInventory(); ii++) {
@@ -88,7 +88,7 @@ public class TileDispenserTrain extends TileDispenserCart {
         }
         BlockPos offset = getPos().offset(facing);
         if ((spawn.getItem() instanceof ItemMinecart || spawn.getItem() instanceof IMinecartItem)
-                && CartToolsAPI.getMinecartOnSide(worldObj, getPos(), 0, facing) == null) {
+                && CartTools.getMinecartOnSide(worldObj, getPos(), 0, facing) == null) {
             ItemStack cartItem = InvTools.removeOneItem(invStock, filter);
             if (cartItem != null) {
                 EntityMinecart cartPlaced = CartTools.placeCart(getOwner(), cartItem, (WorldServer) worldObj, offset);
@@ -122,7 +122,7 @@ public class TileDispenserTrain extends TileDispenserCart {
 
     @Override
     public void onPulse() {
-        EntityMinecart cart = CartToolsAPI.getMinecartOnSide(worldObj, getPos(), 0, facing);
+        EntityMinecart cart = CartTools.getMinecartOnSide(worldObj, getPos(), 0, facing);
         if (cart == null)
             if (!spawningTrain && canBuildTrain())
                 if (timeSinceLastSpawn > RailcraftConfig.getCartDispenserMinDelay() * 20)
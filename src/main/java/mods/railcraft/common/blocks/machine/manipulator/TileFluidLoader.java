@@ -9,16 +9,14 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.machine.manipulator;
 
-import mods.railcraft.api.carts.CartToolsAPI;
 import mods.railcraft.api.carts.IFluidCart;
 import mods.railcraft.api.tracks.ITrackKitInstance;
 import mods.railcraft.api.tracks.ITrackKitLockdown;
 import mods.railcraft.common.blocks.tracks.outfitted.TileTrackOutfitted;
+import mods.railcraft.common.carts.CartTools;
 import mods.railcraft.common.carts.EntityLocomotiveSteam;
-import mods.railcraft.common.core.RailcraftConfig;
 import mods.railcraft.common.fluids.AdvancedFluidHandler;
 import mods.railcraft.common.fluids.FluidItemHelper;
-import mods.railcraft.common.fluids.Fluids;
 import mods.railcraft.common.gui.EnumGui;
 import mods.railcraft.common.gui.GuiHandler;
 import mods.railcraft.common.util.inventory.InvTools;
@@ -34,7 +32,6 @@ import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
-import net.minecraftforge.fluids.FluidUtil;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
@@ -122,7 +119,7 @@ public class TileFluidLoader extends TileFluidManipulator {
         needsPipe = false;
         EntityMinecart cart = super.getCart();
         if (cart == null) {
-            cart = CartToolsAPI.getMinecartOnSide(worldObj, getPos().down(), 0.2f, EnumFacing.DOWN);
+            cart = CartTools.getMinecartOnSide(worldObj, getPos().down(), 0.2f, EnumFacing.DOWN);
             needsPipe = true;
         }
         return cart;
@@ -152,9 +149,11 @@ public class TileFluidLoader extends TileFluidManipulator {
             }
         }
 
-        AdvancedFluidHandler tankCart = getFluidHandler(cart, EnumFacing.UP);
-        if (tankCart == null)
+        TransferSession session = getSession(cart);
+        if (session == null)
             return;
+        session.tick();
+        AdvancedFluidHandler tankCart = session.getCartTank();
         boolean cartNeedsFilling = cartNeedsFilling(tankCart);
 
         if (cartNeedsFilling && needsPipe)
@@ -163,10 +162,8 @@ public class TileFluidLoader extends TileFluidManipulator {
             retractPipe();
 
         setProcessing(false);
-        if (cartNeedsFilling && (!needsPipe || pipeIsExtended())) {
-            FluidStack moved = FluidUtil.tryFluidTransfer(tankCart, tank, RailcraftConfig.getTankCartFillRate(), true);
-            setProcessing(Fluids.isNotEmpty(moved));
-        }
+        if (cartNeedsFilling && (!needsPipe || pipeIsExtended()))
+            setProcessing(session.transfer(tank, tankCart) > 0);
 
         if (isProcessing())
             setPowered(false);
@@ -174,7 +171,8 @@ public class TileFluidLoader extends TileFluidManipulator {
         if (cart instanceof IFluidCart)
             ((IFluidCart) cart).setFilling(isProcessing());
 
-        if (tankCart.isTankFull(tank.getFluidType()))
+        // A transfer that used its whole budget can't have found the cart full
+        if ((!isProcessing() || session.wasLimited()) && tankCart.isTankFull(tank.getFluidType()))
             setResetTimer(RESET_WAIT);
     }
 
@@ -187,9 +185,10 @@ public class TileFluidLoader extends TileFluidManipulator {
     protected boolean hasWorkForCart(EntityMinecart cart) {
         if (!pipeIsRetracted())
             return true;
-        AdvancedFluidHandler tankCart = getFluidHandler(cart, EnumFacing.UP);
-        if (tankCart == null)
+        TransferSession session = getSession(cart);
+        if (session == null)
             return false;
+        AdvancedFluidHandler tankCart = session.getCartTank();
         Fluid fluid = getFluidHandled();
         switch (redstoneController().getButtonState()) {
             case COMPLETE:
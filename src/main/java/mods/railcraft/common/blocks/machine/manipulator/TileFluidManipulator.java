@@ -9,6 +9,7 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.machine.manipulator;
 
+import mods.railcraft.common.core.RailcraftConfig;
 import mods.railcraft.common.fluids.AdvancedFluidHandler;
 import mods.railcraft.common.fluids.FluidItemHelper;
 import mods.railcraft.common.fluids.FluidTools;
@@ -31,11 +32,13 @@ import net.minecraft.util.EnumHand;
 import net.minecraftforge.common.capabilities.Capability;
 import net.minecraftforge.fluids.Fluid;
 import net.minecraftforge.fluids.FluidStack;
+import net.minecraftforge.fluids.FluidUtil;
 import net.minecraftforge.fluids.capability.CapabilityFluidHandler;
 import net.minecraftforge.fluids.capability.IFluidHandler;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.List;
 
 public abstract class TileFluidManipulator extends TileManipulatorCart implements ISidedInventory {
 
@@ -51,6 +54,12 @@ public abstract class TileFluidManipulator extends TileManipulatorCart implement
     protected final TankManager tankManager = new TankManager();
     protected final FilteredTank tank = new FilteredTank(CAPACITY, this);
     private FluidTools.ProcessState processState = FluidTools.ProcessState.RESET;
+    @Nullable
+    private TransferSession session;
+    /**
+     * This station's current transfer rate in mB per tick, kept from one cart to the next.
+     */
+    private int transferRate;
 
     protected TileFluidManipulator() {
         setInventorySize(3);
@@ -83,12 +92,48 @@ public abstract class TileFluidManipulator extends TileManipulatorCart implement
         return tank.getFluidType();
     }
 
+    /**
+     * The transfer with the cart that is docked, started when the cart arrives and
+     * dropped when it leaves, so the cart's fluid handler is only looked up once.
+     */
     @Nullable
-    protected AdvancedFluidHandler getFluidHandler(EntityMinecart cart, EnumFacing facing) {
-        IFluidHandler fluidHandler = cart.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, facing);
-        if (fluidHandler == null)
-            return null;
-        return new AdvancedFluidHandler(fluidHandler);
+    protected final TransferSession getSession(EntityMinecart cart) {
+        if (session == null || session.cart != cart) {
+            IFluidHandler fluidHandler = cart.getCapability(CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY, getFacing().getOpposite());
+            session = fluidHandler == null ? null : new TransferSession(cart, new AdvancedFluidHandler(fluidHandler));
+        }
+        return session;
+    }
+
+    /**
+     * The average rate, in mB per second, fluid has moved to or from the docked cart.
+     */
+    public int getTransferRate() {
+        return session == null ? 0 : session.getTransferRate();
+    }
+
+    /**
+     * The station's current transfer rate, in mB per tick, kept within the configured limits
+     * in case they changed since it was last adjusted.
+     */
+    private int getRate() {
+        int min = RailcraftConfig.getTankCartFillRate();
+        return Math.max(min, Math.min(transferRate, RailcraftConfig.getFluidLoaderMaxRate()));
+    }
+
+    @Override
+    public List<String> getDebugOutput() {
+        List<String> debug = super.getDebugOutput();
+        debug.add("Docked Cart: " + (session == null ? "none" : session.cart));
+        debug.add("Transfer Rate: " + getTransferRate() + " mB/s");
+        debug.add("Station Rate: " + getRate() + " mB/t");
+        return debug;
+    }
+
+    @Override
+    protected void reset() {
+        super.reset();
+        session = null;
     }
 
     @Override
@@ -179,6 +224,84 @@ public abstract class TileFluidManipulator extends TileManipulatorCart implement
         tankManager.readPacketData(data);
     }
 
+    /**
+     * A transfer with one docked cart.
+     *
+     * The session moves fluid in one batch per tick against a budget that fills at
+     * the station's transfer rate. The rate starts at the configured tank cart fill
+     * rate. It grows by a quarter each tick a transfer uses its whole budget, up to
+     * {@link RailcraftConfig#getFluidLoaderMaxRate()}. Each tick one side runs short,
+     * it falls back by a quarter, but never below the fill rate. The rate carries over
+     * to the next cart, so a terminal with plenty of fluid and room stays at speed,
+     * while a starved one stays near the old rate.
+     */
+    protected final class TransferSession {
+        /**
+         * How many ticks of unused budget can be saved up for a single transfer.
+         */
+        private static final int MAX_BATCH_TICKS = 20;
+        private final EntityMinecart cart;
+        private final AdvancedFluidHandler cartTank;
+        private int credit;
+        private int moved;
+        private int ticks;
+        private boolean limited;
+
+        private TransferSession(EntityMinecart cart, AdvancedFluidHandler cartTank) {
+            this.cart = cart;
+            this.cartTank = cartTank;
+        }
+
+        public AdvancedFluidHandler getCartTank() {
+            return cartTank;
+        }
+
+        /**
+         * Called every tick the cart is being processed, whether or not fluid can move.
+         * Each tick adds the current rate to the budget, and whatever transfers don't
+         * use carries over, so a manipulator that runs dry or waits on its pipe
+         * catches up in a larger batch once it can move fluid again.
+         */
+        public void tick() {
+            int rate = getRate();
+            credit = Math.min(credit + rate, rate * MAX_BATCH_TICKS);
+            ticks++;
+        }
+
+        /**
+         * Moves as much fluid as the budget allows in one batch, then adjusts the rate.
+         *
+         * @return the amount moved
+         */
+        public int transfer(IFluidHandler source, IFluidHandler destination) {
+            if (credit <= 0)
+                return 0;
+            FluidStack result = FluidUtil.tryFluidTransfer(destination, source, credit, true);
+            int amount = result == null ? 0 : result.amount;
+            limited = amount < credit;
+            credit -= amount;
+            moved += amount;
+            int rate = getRate();
+            if (limited)
+                transferRate = Math.max(RailcraftConfig.getTankCartFillRate(), rate - rate / 4);
+            else
+                transferRate = Math.min(RailcraftConfig.getFluidLoaderMaxRate(), rate + Math.max(1, rate / 4));
+            return amount;
+        }
+
+        /**
+         * True if the last transfer moved less than its budget, because one of the
+         * tanks ran out of fluid or room.
+         */
+        public boolean wasLimited() {
+            return limited;
+        }
+
+        public int getTransferRate() {
+            return ticks == 0 ? 0 : moved * 20 / ticks;
+        }
+    }
+
     @Override
     public boolean hasCapability(Capability<?> capability, EnumFacing facing) {
         return capability == CapabilityFluidHandler.FLUID_HANDLER_CAPABILITY || super.hasCapability(capability, facing);
@@ -9,17 +9,13 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.machine.manipulator;
 
-import mods.railcraft.common.core.RailcraftConfig;
 import mods.railcraft.common.fluids.AdvancedFluidHandler;
-import mods.railcraft.common.fluids.Fluids;
 import mods.railcraft.common.gui.EnumGui;
 import mods.railcraft.common.gui.GuiHandler;
 import mods.railcraft.common.util.misc.Predicates;
 import net.minecraft.entity.item.EntityMinecart;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.EnumFacing;
-import net.minecraftforge.fluids.FluidStack;
-import net.minecraftforge.fluids.FluidUtil;
 
 public class TileFluidUnloader extends TileFluidManipulator {
 
@@ -48,19 +44,20 @@ public class TileFluidUnloader extends TileFluidManipulator {
 
     @Override
     protected void processCart(EntityMinecart cart) {
-        AdvancedFluidHandler tankCart = getFluidHandler(cart, EnumFacing.DOWN);
-        if (tankCart != null) {
-            FluidStack moved = FluidUtil.tryFluidTransfer(tank, tankCart, RailcraftConfig.getTankCartFillRate(), true);
-            setProcessing(Fluids.isNotEmpty(moved));
+        TransferSession session = getSession(cart);
+        if (session != null) {
+            session.tick();
+            setProcessing(session.transfer(session.getCartTank(), tank) > 0);
         }
     }
 
     @SuppressWarnings("SimplifiableIfStatement")
     @Override
     protected boolean hasWorkForCart(EntityMinecart cart) {
-        AdvancedFluidHandler tankCart = getFluidHandler(cart, EnumFacing.DOWN);
-        if (tankCart == null)
+        TransferSession session = getSession(cart);
+        if (session == null)
             return false;
+        AdvancedFluidHandler tankCart = session.getCartTank();
         if (redstoneController().is(EnumRedstoneMode.IMMEDIATE))
             return false;
         if (getFilterFluid() != null && tankCart.isTankEmpty(getFilterFluid()))
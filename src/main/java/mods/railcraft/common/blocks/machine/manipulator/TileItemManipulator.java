@@ -9,14 +9,17 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.machine.manipulator;
 
+import mods.railcraft.common.core.RailcraftConfig;
 import mods.railcraft.common.gui.buttons.MultiButtonController;
 import mods.railcraft.common.util.collections.CollectionTools;
 import mods.railcraft.common.util.collections.StackKey;
 import mods.railcraft.common.util.inventory.AdjacentInventoryCache;
 import mods.railcraft.common.util.inventory.InvTools;
+import mods.railcraft.common.util.inventory.InventoryManifest;
 import mods.railcraft.common.util.inventory.InventorySorter;
 import mods.railcraft.common.util.inventory.PhantomInventory;
 import mods.railcraft.common.util.inventory.filters.StackFilters;
+import mods.railcraft.common.util.inventory.filters.StandardStackFilters;
 import mods.railcraft.common.util.inventory.wrappers.IInventoryObject;
 import mods.railcraft.common.util.inventory.wrappers.InventoryMapper;
 import mods.railcraft.common.util.network.RailcraftInputStream;
@@ -26,15 +29,16 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.Slot;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 /**
  * @author CovertJaguar <http://www.railcraft.info>
@@ -47,32 +51,30 @@ public abstract class TileItemManipulator extends TileManipulatorCart {
 
     static {
         modeHasWork.put(EnumTransferMode.ALL, tile -> {
-            Map<StackKey, Integer> sourceManifest = InvTools.createManifest(tile.getSource());
-            Map<StackKey, Integer> filterManifest = InvTools.createManifest(tile.getItemFilters());
+            Map<StackKey, Integer> sourceManifest = tile.getSourceManifest();
+            Map<StackKey, Integer> filterManifest = tile.getFilterManifest();
             List<IInventoryObject> dest = tile.getDestination();
 
-            if (!filterManifest.isEmpty())
-                sourceManifest.keySet().retainAll(filterManifest.keySet());
-            return !sourceManifest.isEmpty() && sourceManifest.entrySet().stream()
-                    .anyMatch(entry -> InvTools.acceptsItemStack(entry.getKey().get(), dest));
+            return sourceManifest.keySet().stream()
+                    .filter(key -> filterManifest.isEmpty() || filterManifest.containsKey(key))
+                    .anyMatch(key -> InvTools.acceptsItemStack(key.get(), dest));
         });
 
         modeHasWork.put(EnumTransferMode.TRANSFER, tile -> {
-            Map<StackKey, Integer> sourceManifest = InvTools.createManifest(tile.getSource());
-            Map<StackKey, Integer> filterManifest = InvTools.createManifest(tile.getItemFilters());
+            Map<StackKey, Integer> sourceManifest = tile.getSourceManifest();
+            Map<StackKey, Integer> filterManifest = tile.getFilterManifest();
             List<IInventoryObject> dest = tile.getDestination();
 
-            filterManifest.keySet().retainAll(sourceManifest.keySet());
-
             return filterManifest.entrySet().stream()
+                    .filter(entry -> sourceManifest.containsKey(entry.getKey()))
                     .filter(key -> InvTools.acceptsItemStack(key.getKey().get(), dest))
                     .anyMatch(entry -> tile.transferredItems.getOrDefault(entry.getKey(), 0) < entry.getValue());
         });
 
         modeHasWork.put(EnumTransferMode.STOCK, tile -> {
             List<IInventoryObject> dest = tile.getDestination();
-            Map<StackKey, Integer> destManifest = InvTools.createManifest(dest);
-            Map<StackKey, Integer> filterManifest = InvTools.createManifest(tile.getItemFilters());
+            Map<StackKey, Integer> destManifest = tile.getDestinationManifest();
+            Map<StackKey, Integer> filterManifest = tile.getFilterManifest();
 
             return filterManifest.entrySet().stream()
                     .filter(key -> InvTools.acceptsItemStack(key.getKey().get(), dest))
@@ -81,15 +83,15 @@ public abstract class TileItemManipulator extends TileManipulatorCart {
 
         modeHasWork.put(EnumTransferMode.EXCESS, tile -> {
             List<IInventoryObject> dest = tile.getDestination();
-            Map<StackKey, Integer> sourceManifest = InvTools.createManifest(tile.getSource());
-            Map<StackKey, Integer> filterManifest = InvTools.createManifest(tile.getItemFilters());
+            Map<StackKey, Integer> sourceManifest = tile.getSourceManifest();
+            Map<StackKey, Integer> filterManifest = tile.getFilterManifest();
 
             if (filterManifest.entrySet().stream().anyMatch(entry -> sourceManifest.getOrDefault(entry.getKey(), 0) > entry.getValue()))
                 return true;
 
-            sourceManifest.keySet().removeAll(filterManifest.keySet());
-            return !sourceManifest.isEmpty() && sourceManifest.entrySet().stream()
-                    .anyMatch(entry -> InvTools.acceptsItemStack(entry.getKey().get(), dest));
+            return sourceManifest.keySet().stream()
+                    .filter(key -> !filterManifest.containsKey(key))
+                    .anyMatch(key -> InvTools.acceptsItemStack(key.get(), dest));
         });
     }
 
@@ -100,6 +102,13 @@ public abstract class TileItemManipulator extends TileManipulatorCart {
     private final Predicate<ItemStack> filters = StackFilters.containedIn(invFilters);
     private final MultiButtonController<EnumTransferMode> transferModeController = MultiButtonController.create(EnumTransferMode.ALL.ordinal(), EnumTransferMode.values());
     protected AdjacentInventoryCache invCache = new AdjacentInventoryCache(tileCache, tile -> !getClass().isInstance(tile), InventorySorter.SIZE_DESCENDING);
+    private final List<IInventoryObject> filterList = Collections.singletonList(invFilters);
+    @Nullable
+    private InventoryManifest sourceManifest, destManifest, filterManifest;
+    @Nullable
+    private EntityMinecart cartEntity;
+    @Nullable
+    private EnumFacing cartSide;
 
     TileItemManipulator() {
         setInventorySize(9);
@@ -122,6 +131,36 @@ public abstract class TileItemManipulator extends TileManipulatorCart {
         return filters;
     }
 
+    protected final Map<StackKey, Integer> getSourceManifest() {
+        sourceManifest = InventoryManifest.update(sourceManifest, getSource());
+        return sourceManifest.get();
+    }
+
+    protected final Map<StackKey, Integer> getDestinationManifest() {
+        destManifest = InventoryManifest.update(destManifest, getDestination());
+        return destManifest.get();
+    }
+
+    protected final Map<StackKey, Integer> getFilterManifest() {
+        filterManifest = InventoryManifest.update(filterManifest, filterList);
+        return filterManifest.get();
+    }
+
+    /**
+     * The cart's inventory wrapper is kept for as long as the cart stays,
+     * so the manifests can recognise it from one tick to the next.
+     */
+    @Nullable
+    protected final IInventoryObject getCartInventory(EntityMinecart cart) {
+        EnumFacing side = getFacing().getOpposite();
+        if (cart != cartEntity || side != cartSide) {
+            cartEntity = cart;
+            cartSide = side;
+            this.cart = InvTools.getInventory(cart, side);
+        }
+        return this.cart;
+    }
+
     public abstract Slot getBufferSlot(int id, int x, int y);
 
     @Override
@@ -137,6 +176,7 @@ public abstract class TileItemManipulator extends TileManipulatorCart {
     protected void reset() {
         super.reset();
         transferredItems.clear();
+        cartEntity = null;
     }
 
     @Override
@@ -145,55 +185,74 @@ public abstract class TileItemManipulator extends TileManipulatorCart {
         chests.addAll(invCache.getAdjacentInventories());
         chests.addFirst(invBuffer);
 
-        IInventoryObject cartInv = InvTools.getInventory(cart, getFacing().getOpposite());
+        IInventoryObject cartInv = getCartInventory(cart);
         if (cartInv == null) {
             sendCart(cart);
             return;
         }
-        this.cart = cartInv;
 
+        int budget = RailcraftConfig.itemLoaderTransferRate();
         switch (getMode()) {
             case TRANSFER: {
-                Map<StackKey, Integer> filterManifest = InvTools.createManifest(getItemFilters());
-                filterManifest.entrySet().stream()
-                        .filter(entry -> transferredItems.getOrDefault(entry.getKey(), 0) < entry.getValue())
-                        .anyMatch(entry -> {
-                            ItemStack moved = InvTools.moveOneItem(getSource(), getDestination(), entry.getKey().get());
-                            if (moved != null) {
-                                setProcessing(true);
-                                transferredItems.merge(entry.getKey(), 1, Integer::sum);
-                                return true;
-                            }
-                            return false;
-                        });
+                Map<StackKey, Integer> filterManifest = getFilterManifest();
+                for (Map.Entry<StackKey, Integer> entry : filterManifest.entrySet()) {
+                    if (budget <= 0)
+                        break;
+                    int wanted = entry.getValue() - transferredItems.getOrDefault(entry.getKey(), 0);
+                    if (wanted > 0) {
+                        int moved = moveItems(entry.getKey(), Math.min(wanted, budget));
+                        if (moved > 0)
+                            transferredItems.merge(entry.getKey(), moved, Integer::sum);
+                        budget -= moved;
+                    }
+                }
                 break;
             }
             case STOCK: {
-                Map<StackKey, Integer> filterManifest = InvTools.createManifest(getItemFilters());
-                Map<StackKey, Integer> destManifest = InvTools.createManifest(getDestination());
-                moveItem(filterManifest.entrySet().stream()
-                        .filter(entry -> destManifest.getOrDefault(entry.getKey(), 0) < entry.getValue()));
+                Map<StackKey, Integer> filterManifest = getFilterManifest();
+                Map<StackKey, Integer> destManifest = getDestinationManifest();
+                for (Map.Entry<StackKey, Integer> entry : filterManifest.entrySet()) {
+                    if (budget <= 0)
+                        break;
+                    int wanted = entry.getValue() - destManifest.getOrDefault(entry.getKey(), 0);
+                    if (wanted > 0)
+                        budget -= moveItems(entry.getKey(), Math.min(wanted, budget));
+                }
                 break;
             }
             case EXCESS: {
-                Map<StackKey, Integer> filterManifest = InvTools.createManifest(getItemFilters());
-                Map<StackKey, Integer> sourceManifest = InvTools.createManifest(getSource());
-
-                moveItem(filterManifest.entrySet().stream()
-                        .filter(entry -> sourceManifest.getOrDefault(entry.getKey(), 0) > entry.getValue()));
+                Map<StackKey, Integer> filterManifest = getFilterManifest();
+                Map<StackKey, Integer> sourceManifest = getSourceManifest();
+
+                for (Map.Entry<StackKey, Integer> entry : filterManifest.entrySet()) {
+                    if (budget <= 0)
+                        break;
+                    int excess = sourceManifest.getOrDefault(entry.getKey(), 0) - entry.getValue();
+                    if (excess > 0)
+                        budget -= moveItems(entry.getKey(), Math.min(excess, budget));
+                }
                 if (!isProcessing()) {
-                    sourceManifest.keySet().removeAll(filterManifest.keySet());
-                    moveItem(sourceManifest.entrySet().stream());
+                    for (StackKey key : sourceManifest.keySet()) {
+                        if (budget <= 0)
+                            break;
+                        if (!filterManifest.containsKey(key))
+                            budget -= moveItems(key, budget);
+                    }
                 }
                 break;
             }
             case ALL: {
-                Map<StackKey, Integer> filterManifest = InvTools.createManifest(getItemFilters());
+                Map<StackKey, Integer> filterManifest = getFilterManifest();
                 if (filterManifest.isEmpty()) {
-                    ItemStack moved = InvTools.moveOneItem(getSource(), getDestination());
-                    itemMoved(moved);
+                    int moved = InvTools.moveItems(getSource(), getDestination(), StandardStackFilters.ALL, budget);
+                    if (moved > 0)
+                        setProcessing(true);
                 } else {
-                    moveItem(filterManifest.entrySet().stream());
+                    for (StackKey key : filterManifest.keySet()) {
+                        if (budget <= 0)
+                            break;
+                        budget -= moveItems(key, budget);
+                    }
                 }
                 break;
             }
@@ -202,7 +261,7 @@ public abstract class TileItemManipulator extends TileManipulatorCart {
 
     @Override
     protected boolean hasWorkForCart(EntityMinecart cart) {
-        IInventoryObject cartInv = InvTools.getInventory(cart, getFacing().getOpposite());
+        IInventoryObject cartInv = getCartInventory(cart);
         if (cartInv == null || cartInv.getNumSlots() <= 0)
             return false;
         EnumRedstoneMode state = redstoneController().getButtonState();
@@ -215,23 +274,19 @@ public abstract class TileItemManipulator extends TileManipulatorCart {
                 if (!InvTools.isInventoryEmpty(cartInv))
                     return false;
         }
-        this.cart = cartInv;
         return modeHasWork.get(getMode()).test(this);
     }
 
-    protected void moveItem(Stream<Map.Entry<StackKey, Integer>> stream) {
-        stream.anyMatch(entry -> {
-            ItemStack moved = InvTools.moveOneItem(getSource(), getDestination(), entry.getKey().get());
-            return itemMoved(moved);
-        });
-    }
-
-    protected boolean itemMoved(@Nullable ItemStack stack) {
-        if (stack != null) {
+    /**
+     * Moves up to maxAmount items of one kind from the source to the destination.
+     *
+     * @return the number of items moved
+     */
+    protected int moveItems(StackKey key, int maxAmount) {
+        int moved = InvTools.moveItems(getSource(), getDestination(), StackFilters.of(key.get()), maxAmount);
+        if (moved > 0)
             setProcessing(true);
-            return true;
-        }
-        return false;
+        return moved;
     }
 
     @Override
@@ -9,10 +9,12 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.machine.manipulator;
 
+import mods.railcraft.common.core.RailcraftConfig;
 import mods.railcraft.common.gui.EnumGui;
 import mods.railcraft.common.gui.GuiHandler;
 import mods.railcraft.common.gui.slots.SlotOutput;
 import mods.railcraft.common.util.inventory.InvTools;
+import mods.railcraft.common.util.inventory.filters.StandardStackFilters;
 import mods.railcraft.common.util.inventory.wrappers.IInventoryObject;
 import mods.railcraft.common.util.inventory.wrappers.InventoryObject;
 import net.minecraft.entity.item.EntityMinecart;
@@ -66,7 +68,7 @@ public class TileItemUnloader extends TileItemManipulator {
 
     private void clearInv() {
         if (!InvTools.isInventoryEmpty(invBuffer)) {
-            InvTools.moveOneItem(invBuffer, invCache.getAdjacentInventories());
+            InvTools.moveItems(Collections.singletonList(invBuffer), invCache.getAdjacentInventories(), StandardStackFilters.ALL, RailcraftConfig.itemLoaderTransferRate());
         }
     }
 
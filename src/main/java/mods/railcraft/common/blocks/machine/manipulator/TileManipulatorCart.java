@@ -74,7 +74,7 @@ public abstract class TileManipulatorCart extends TileManipulator implements IHa
 
     @Nullable
     public EntityMinecart getCart() {
-        return CartToolsAPI.getMinecartOnSide(worldObj, getPos(), 0.1f, getFacing());
+        return CartTools.getMinecartOnSide(worldObj, getPos(), 0.1f, getFacing());
     }
 
     public boolean canHandleCart(EntityMinecart cart) {
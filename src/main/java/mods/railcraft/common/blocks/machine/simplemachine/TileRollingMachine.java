@@ -58,6 +58,9 @@ public class TileRollingMachine extends TileMachineBase implements IEnergyReceiv
     private EnergyStorage energyStorage;
     private boolean isWorking, paused;
     private ItemStack currentRecipe;
+    @Nullable
+    private ItemStack cachedRecipe;
+    private boolean matrixChanged = true;
     private int progress;
 
     public TileRollingMachine() {
@@ -149,7 +152,7 @@ public class TileRollingMachine extends TileMachineBase implements IEnergyReceiv
             return;
 
         if (clock % 8 == 0) {
-            currentRecipe = RollingMachineCraftingManager.instance().findMatchingRecipe(craftMatrix, worldObj);
+            currentRecipe = findRecipe();
             if (currentRecipe != null)
                 findMoreStuff();
         }
@@ -158,7 +161,7 @@ public class TileRollingMachine extends TileMachineBase implements IEnergyReceiv
             if (progress >= PROCESS_TIME) {
                 isWorking = false;
                 if (InvTools.isRoomForStack(currentRecipe, invResult)) {
-                    currentRecipe = RollingMachineCraftingManager.instance().findMatchingRecipe(craftMatrix, worldObj);
+                    currentRecipe = findRecipe();
                     if (currentRecipe != null) {
                         for (int i = 0; i < craftMatrix.getSizeInventory(); i++) {
                             craftMatrix.decrStackSize(i, 1);
@@ -244,8 +247,22 @@ public class TileRollingMachine extends TileMachineBase implements IEnergyReceiv
         actions.add(action);
     }
 
+    /**
+     * The recipe is only looked up again after the contents of the crafting grid change.
+     * Stack sizes don't matter to the match, so the item shuffling done by
+     * {@link #balanceSlots()} and {@link #findMoreStuff()} doesn't trigger a lookup.
+     */
+    @Nullable
+    private ItemStack findRecipe() {
+        if (matrixChanged) {
+            matrixChanged = false;
+            cachedRecipe = RollingMachineCraftingManager.instance().findMatchingRecipe(craftMatrix, worldObj);
+        }
+        return cachedRecipe == null ? null : cachedRecipe.copy();
+    }
+
     public boolean canMakeMore() {
-        if (RollingMachineCraftingManager.instance().findMatchingRecipe(craftMatrix, worldObj) == null)
+        if (findRecipe() == null)
             return false;
         if (useLast)
             return true;
@@ -384,12 +401,17 @@ public class TileRollingMachine extends TileMachineBase implements IEnergyReceiv
         return energyStorage.getMaxEnergyStored();
     }
 
-    private static class RollingContainer extends Container {
+    private class RollingContainer extends Container {
 
         @Override
         public boolean canInteractWith( EntityPlayer entityplayer) {
             return true;
         }
 
+        @Override
+        public void onCraftMatrixChanged(IInventory inventory) {
+            matrixChanged = true;
+        }
+
     }
 }
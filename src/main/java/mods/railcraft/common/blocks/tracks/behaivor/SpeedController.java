@@ -13,6 +13,7 @@ import mods.railcraft.api.carts.CartToolsAPI;
 import mods.railcraft.api.tracks.TrackKit;
 import mods.railcraft.common.blocks.tracks.TrackShapeHelper;
 import mods.railcraft.common.blocks.tracks.TrackTools;
+import mods.railcraft.common.carts.CartState;
 import mods.railcraft.common.carts.Train;
 import mods.railcraft.common.util.misc.MiscTools;
 import net.minecraft.block.BlockRailBase;
@@ -39,7 +40,7 @@ public enum SpeedController {
             if (CartToolsAPI.getCartSpeedUncapped(cart) > 0.35F && MiscTools.RANDOM.nextInt(500) == 250)
                 return true;
             for (EntityMinecart c : Train.getTrain(cart)) {
-                if (c.getEntityData().getInteger("derail") > 0)
+                if (CartState.get(c).getDerail() > 0)
                     return true;
             }
             return false;
@@ -51,7 +52,7 @@ public enum SpeedController {
             if (cart != null) {
                 BlockRailBase.EnumRailDirection shape = TrackTools.getTrackDirectionRaw(state);
                 if (TrackShapeHelper.isLevelStraight(shape) && isDerailing(cart)) {
-                    cart.getEntityData().setByte("derail", (byte) 100);
+                    CartState.get(cart).setDerail(100);
                     if (Math.abs(cart.motionX) > Math.abs(cart.motionZ))
                         cart.motionZ = cart.motionX;
                     else
@@ -9,9 +9,10 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.blocks.tracks.elevator;
 
-import mods.railcraft.api.carts.CartToolsAPI;
 import mods.railcraft.common.blocks.BlockRailcraft;
 import mods.railcraft.common.blocks.tracks.TrackTools;
+import mods.railcraft.common.carts.CartState;
+import mods.railcraft.common.carts.CartTools;
 import mods.railcraft.common.core.RailcraftConfig;
 import mods.railcraft.common.items.ItemRail;
 import mods.railcraft.common.items.RailcraftItems;
@@ -349,7 +350,7 @@ public class BlockTrackElevator extends BlockRailcraft {
      *              assumed that the minecart is whithin the area of effect of the block
      */
     protected void minecartInteraction(World world, EntityMinecart cart, BlockPos pos) {
-        cart.getEntityData().setByte("elevator", (byte) 20);
+        CartState.get(cart).setElevator(20);
         IBlockState state = WorldPlugin.getBlockState(world, pos);
         boolean powered = getPowered(state);
         BlockPos posDown = pos.down();
@@ -358,7 +359,7 @@ public class BlockTrackElevator extends BlockRailcraft {
             boolean nextIsOffload = isOffloadRail(world, posUp, state);
             if (nextIsOffload || WorldPlugin.isBlockAt(world, posUp, this)) {
                 boolean empty = true;
-                for (EntityMinecart c : CartToolsAPI.getMinecartsAt(world, posUp, 0.2f)) {
+                for (EntityMinecart c : CartTools.getMinecartsAt(world, posUp, 0.2f)) {
                     if (c != cart)
                         empty = false;
                 }
@@ -377,7 +378,7 @@ public class BlockTrackElevator extends BlockRailcraft {
             return;
         } else {
             boolean empty = true;
-            for (EntityMinecart c : CartToolsAPI.getMinecartsAt(world, posDown, 0.2f)) {
+            for (EntityMinecart c : CartTools.getMinecartsAt(world, posDown, 0.2f)) {
                 if (c != cart)
                     empty = false;
             }
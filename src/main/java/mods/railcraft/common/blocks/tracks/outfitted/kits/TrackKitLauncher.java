@@ -11,6 +11,7 @@ package mods.railcraft.common.blocks.tracks.outfitted.kits;
 
 import mods.railcraft.api.core.items.IToolCrowbar;
 import mods.railcraft.common.blocks.tracks.outfitted.TrackKits;
+import mods.railcraft.common.carts.CartState;
 import mods.railcraft.common.core.RailcraftConfig;
 import mods.railcraft.common.gui.EnumGui;
 import mods.railcraft.common.gui.GuiHandler;
@@ -73,7 +74,7 @@ public class TrackKitLauncher extends TrackKitPowered implements IGuiReturnHandl
             cart.setMaxSpeedAirVertical(0.5f);
             cart.setDragAir(0.99999);
             cart.motionY = getLaunchForce() * 0.1;
-            cart.getEntityData().setInteger("Launched", 1);
+            CartState.get(cart).setLaunched(1);
             cart.setCanUseRail(false);
             cart.moveEntity(cart.motionX, 1.5, cart.motionZ);
         }
@@ -14,6 +14,7 @@ import mods.railcraft.common.plugins.forge.LocalizationPlugin;
 import net.minecraft.entity.item.EntityMinecart;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
+import net.minecraft.network.datasync.DataParameter;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.EnumHand;
 import net.minecraft.world.World;
@@ -105,6 +106,12 @@ public abstract class CartBase extends EntityMinecart implements IRailcraftCart,
         return false;
     }
 
+    @Override
+    public void notifyDataManagerChange(DataParameter<?> key) {
+        super.notifyDataManagerChange(key);
+        CartState.markChanged(this);
+    }
+
     public World theWorld() {
         return worldObj;
     }
@@ -15,6 +15,7 @@ import mods.railcraft.common.blocks.tracks.TrackTools;
 import mods.railcraft.common.gui.EnumGui;
 import mods.railcraft.common.gui.containers.FactoryContainer;
 import mods.railcraft.common.plugins.forge.LocalizationPlugin;
+import mods.railcraft.common.util.inventory.ITrackedInventory;
 import mods.railcraft.common.util.inventory.wrappers.IInventoryObject;
 import mods.railcraft.common.util.misc.Game;
 import net.minecraft.block.BlockRailBase;
@@ -25,6 +26,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.InventoryPlayer;
 import net.minecraft.inventory.Container;
 import net.minecraft.item.ItemStack;
+import net.minecraft.network.datasync.DataParameter;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.EnumHand;
@@ -44,8 +46,9 @@ import javax.annotation.Nullable;
  *
  * @author CovertJaguar <http://www.railcraft.info>
  */
-public abstract class CartBaseContainer extends EntityMinecartContainer implements IRailcraftCart, IItemCart, IInventoryObject {
+public abstract class CartBaseContainer extends EntityMinecartContainer implements IRailcraftCart, IItemCart, IInventoryObject, ITrackedInventory {
     private final EnumFacing[] travelDirectionHistory = new EnumFacing[2];
+    private int inventoryChangeCount;
     protected EnumFacing travelDirection;
     protected EnumFacing verticalTravelDirection;
 
@@ -91,6 +94,50 @@ public abstract class CartBaseContainer extends EntityMinecartContainer implemen
         super.setDead();
     }
 
+    @Override
+    public void markDirty() {
+        super.markDirty();
+        inventoryChangeCount++;
+        CartState.markChanged(this);
+    }
+
+    @Nullable
+    @Override
+    public ItemStack decrStackSize(int index, int count) {
+        inventoryChangeCount++;
+        return super.decrStackSize(index, count);
+    }
+
+    @Nullable
+    @Override
+    public ItemStack removeStackFromSlot(int index) {
+        inventoryChangeCount++;
+        return super.removeStackFromSlot(index);
+    }
+
+    @Override
+    public void setInventorySlotContents(int index, @Nullable ItemStack stack) {
+        inventoryChangeCount++;
+        super.setInventorySlotContents(index, stack);
+    }
+
+    @Override
+    public void clear() {
+        inventoryChangeCount++;
+        super.clear();
+    }
+
+    @Override
+    public int getChangeCount() {
+        return inventoryChangeCount;
+    }
+
+    @Override
+    public void notifyDataManagerChange(DataParameter<?> key) {
+        super.notifyDataManagerChange(key);
+        CartState.markChanged(this);
+    }
+
     @Override
     public final void killMinecart(DamageSource par1DamageSource) {
         killAndDrop(this);
@@ -0,0 +1,265 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) CovertJaguar, 2011-2016
+ http://railcraft.info
+
+ This code is the property of CovertJaguar
+ and may only be used with explicit written
+ permission unless otherwise specified on the
+ license page at http://railcraft.info/wiki/info:license.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.common.carts;
+
+import com.google.common.collect.MapMaker;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Keeps track of which chunk every loaded minecart is in, so that searching
+ * for carts around a block only has to look at minecarts instead of every
+ * entity in the surrounding chunks.
+ *
+ * Carts are moved between buckets by the same chunk change that moves them
+ * in the world, and whole buckets are dropped when their chunk unloads.
+ * Carts are dropped when the world removes them, which covers carts that are
+ * killed or change dimension in chunks that never unload. Queries also skip
+ * and discard dead carts they run into before the world gets to them.
+ *
+ * @author CovertJaguar <http://www.railcraft.info>
+ */
+public final class CartIndex {
+    /**
+     * Same allowance for entity size that {@link World#getEntitiesWithinAABB} uses when picking chunks.
+     */
+    private static final double MAX_CART_RADIUS = 2.0;
+    private static final Map<World, CartIndex> indexes = new MapMaker().weakKeys().makeMap();
+    private final Map<Long, Set<EntityMinecart>> buckets = new HashMap<>();
+    private final Map<EntityMinecart, Long> cartBuckets = new HashMap<>();
+
+    private CartIndex() {
+    }
+
+    public static CartIndex getIndex(World world) {
+        return indexes.computeIfAbsent(world, w -> new CartIndex());
+    }
+
+    public static Object getEventListener() {
+        return new EventHandler();
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private void move(EntityMinecart cart, long key) {
+        Long oldKey = cartBuckets.put(cart, key);
+        if (oldKey != null) {
+            if (oldKey == key)
+                return;
+            Set<EntityMinecart> oldBucket = buckets.get(oldKey);
+            if (oldBucket != null) {
+                oldBucket.remove(cart);
+                if (oldBucket.isEmpty())
+                    buckets.remove(oldKey);
+            }
+        }
+        buckets.computeIfAbsent(key, k -> new HashSet<>()).add(cart);
+    }
+
+    private void remove(EntityMinecart cart) {
+        Long key = cartBuckets.remove(cart);
+        if (key == null)
+            return;
+        Set<EntityMinecart> bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.remove(cart);
+            if (bucket.isEmpty())
+                buckets.remove(key);
+        }
+    }
+
+    private void unloadChunk(long key) {
+        Set<EntityMinecart> bucket = buckets.remove(key);
+        if (bucket != null)
+            bucket.forEach(cartBuckets::remove);
+    }
+
+    /**
+     * Returns the living carts of the given type whose bounding box intersects the search box.
+     */
+    public <T extends EntityMinecart> List<T> getCarts(Class<T> type, AxisAlignedBB box, Predicate<? super T> filter) {
+        List<T> carts = new ArrayList<>();
+        int minX = MathHelper.floor_double((box.minX - MAX_CART_RADIUS) / 16.0);
+        int maxX = MathHelper.floor_double((box.maxX + MAX_CART_RADIUS) / 16.0);
+        int minZ = MathHelper.floor_double((box.minZ - MAX_CART_RADIUS) / 16.0);
+        int maxZ = MathHelper.floor_double((box.maxZ + MAX_CART_RADIUS) / 16.0);
+        for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+            for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++) {
+                long key = chunkKey(chunkX, chunkZ);
+                Set<EntityMinecart> bucket = buckets.get(key);
+                if (bucket == null)
+                    continue;
+                Iterator<EntityMinecart> it = bucket.iterator();
+                while (it.hasNext()) {
+                    EntityMinecart cart = it.next();
+                    if (cart.isDead) {
+                        it.remove();
+                        cartBuckets.remove(cart);
+                        continue;
+                    }
+                    if (type.isInstance(cart) && cart.getEntityBoundingBox().intersectsWith(box)) {
+                        T typed = type.cast(cart);
+                        if (filter.test(typed))
+                            carts.add(typed);
+                    }
+                }
+                if (bucket.isEmpty())
+                    buckets.remove(key);
+            }
+        }
+        return carts;
+    }
+
+    /**
+     * Cheaper than {@link #getCarts(AxisAlignedBB)} when all that matters is whether
+     * the area is empty, as it allocates nothing and stops at the first cart found.
+     */
+    public boolean hasCarts(AxisAlignedBB box) {
+        int minX = MathHelper.floor_double((box.minX - MAX_CART_RADIUS) / 16.0);
+        int maxX = MathHelper.floor_double((box.maxX + MAX_CART_RADIUS) / 16.0);
+        int minZ = MathHelper.floor_double((box.minZ - MAX_CART_RADIUS) / 16.0);
+        int maxZ = MathHelper.floor_double((box.maxZ + MAX_CART_RADIUS) / 16.0);
+        for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+            for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++) {
+                long key = chunkKey(chunkX, chunkZ);
+                Set<EntityMinecart> bucket = buckets.get(key);
+                if (bucket == null)
+                    continue;
+                Iterator<EntityMinecart> it = bucket.iterator();
+                while (it.hasNext()) {
+                    EntityMinecart cart = it.next();
+                    if (cart.isDead) {
+                        it.remove();
+                        cartBuckets.remove(cart);
+                        continue;
+                    }
+                    if (cart.getEntityBoundingBox().intersectsWith(box))
+                        return true;
+                }
+                if (bucket.isEmpty())
+                    buckets.remove(key);
+            }
+        }
+        return false;
+    }
+
+    public List<EntityMinecart> getCarts(AxisAlignedBB box) {
+        return getCarts(EntityMinecart.class, box, cart -> true);
+    }
+
+    public int size() {
+        return cartBuckets.size();
+    }
+
+    public static class EventHandler {
+        @SubscribeEvent
+        public void onEnteringChunk(EntityEvent.EnteringChunk event) {
+            Entity entity = event.getEntity();
+            if (entity instanceof EntityMinecart && entity.worldObj != null)
+                getIndex(entity.worldObj).move((EntityMinecart) entity, chunkKey(event.getNewChunkX(), event.getNewChunkZ()));
+        }
+
+        @SubscribeEvent
+        public void onWorldLoad(WorldEvent.Load event) {
+            event.getWorld().addEventListener(new RemovalListener(getIndex(event.getWorld())));
+        }
+
+        @SubscribeEvent
+        public void onChunkUnload(ChunkEvent.Unload event) {
+            CartIndex index = indexes.get(event.getWorld());
+            if (index != null) {
+                Chunk chunk = event.getChunk();
+                index.unloadChunk(chunkKey(chunk.xPosition, chunk.zPosition));
+            }
+        }
+
+        @SubscribeEvent
+        public void onWorldUnload(WorldEvent.Unload event) {
+            indexes.remove(event.getWorld());
+        }
+    }
+
+    /**
+     * Only listens for entities leaving the world, everything else is ignored.
+     */
+    private static class RemovalListener implements IWorldEventListener {
+        private final CartIndex index;
+
+        private RemovalListener(CartIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public void onEntityRemoved(Entity entity) {
+            if (entity instanceof EntityMinecart)
+                index.remove((EntityMinecart) entity);
+        }
+
+        @Override
+        public void onEntityAdded(Entity entity) {
+        }
+
+        @Override
+        public void notifyBlockUpdate(World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags) {
+        }
+
+        @Override
+        public void notifyLightSet(BlockPos pos) {
+        }
+
+        @Override
+        public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2) {
+        }
+
+        @Override
+        public void playSoundToAllNearExcept(@Nullable EntityPlayer player, SoundEvent sound, SoundCategory category, double x, double y, double z, float volume, float pitch) {
+        }
+
+        @Override
+        public void playRecord(SoundEvent sound, BlockPos pos) {
+        }
+
+        @Override
+        public void spawnParticle(int particleID, boolean ignoreRange, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters) {
+        }
+
+        @Override
+        public void broadcastSound(int soundID, BlockPos pos, int data) {
+        }
+
+        @Override
+        public void playEvent(EntityPlayer player, int type, BlockPos pos, int data) {
+        }
+
+        @Override
+        public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress) {
+        }
+    }
+}
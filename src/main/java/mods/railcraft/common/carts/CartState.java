@@ -0,0 +1,235 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) CovertJaguar, 2011-2016
+ http://railcraft.info
+
+ This code is the property of CovertJaguar
+ and may only be used with explicit written
+ permission unless otherwise specified on the
+ license page at http://railcraft.info/wiki/info:license.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.common.carts;
+
+import net.minecraft.entity.item.EntityMinecart;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.ICapabilitySerializable;
+
+import javax.annotation.Nullable;
+
+/**
+ * Per cart state that Railcraft checks every tick, kept in plain fields
+ * rather than the cart's NBT data. It is only written to NBT when the cart is saved.
+ *
+ * @author CovertJaguar <http://www.railcraft.info>
+ */
+public class CartState {
+    @CapabilityInject(CartState.class)
+    public static Capability<CartState> CART_STATE_CAPABILITY;
+    public static final ResourceLocation KEY = new ResourceLocation("railcraft", "cart_state");
+    private static final String LAUNCHED = "Launched";
+    private static final String MOUNT_PREVENTION = "MountPrevention";
+    private static final String ELEVATOR = "elevator";
+    private static final String DERAIL = "derail";
+    private static final String EXPLODE = "explode";
+    private static final String GHOST = "ghost";
+    private int launched;
+    private int mountPrevention;
+    private int elevator;
+    private int derail;
+    private boolean explode;
+    private boolean ghost;
+    private boolean highSpeed;
+    private boolean legacyChecked;
+    private int changeCount;
+
+    public static void register() {
+        CapabilityManager.INSTANCE.register(CartState.class, new Capability.IStorage<CartState>() {
+            @Override
+            public NBTBase writeNBT(Capability<CartState> capability, CartState instance, EnumFacing side) {
+                return instance.writeToNBT(new NBTTagCompound());
+            }
+
+            @Override
+            public void readNBT(Capability<CartState> capability, CartState instance, EnumFacing side, NBTBase nbt) {
+                instance.readFromNBT((NBTTagCompound) nbt);
+            }
+        }, CartState::new);
+    }
+
+    public static CartState get(EntityMinecart cart) {
+        CartState state = CART_STATE_CAPABILITY == null ? null : cart.getCapability(CART_STATE_CAPABILITY, null);
+        if (state == null)
+            // Should never happen, but don't crash if another mod interfered with the capability
+            return new CartState();
+        if (!state.legacyChecked) {
+            state.legacyChecked = true;
+            state.readLegacy(cart.getEntityData());
+        }
+        return state;
+    }
+
+    /**
+     * Notes that something a detector might test for has changed on the cart,
+     * such as its passengers, inventory or tank contents.
+     *
+     * Unlike {@link #get(EntityMinecart)} this is safe to call while the cart
+     * is still being constructed or loaded.
+     */
+    public static void markChanged(EntityMinecart cart) {
+        CartState state = CART_STATE_CAPABILITY == null ? null : cart.getCapability(CART_STATE_CAPABILITY, null);
+        if (state != null)
+            state.changeCount++;
+    }
+
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    public int getLaunched() {
+        return launched;
+    }
+
+    public void setLaunched(int launched) {
+        this.launched = launched;
+    }
+
+    public int getMountPrevention() {
+        return mountPrevention;
+    }
+
+    public void setMountPrevention(int mountPrevention) {
+        this.mountPrevention = mountPrevention;
+    }
+
+    public int getElevator() {
+        return elevator;
+    }
+
+    public void setElevator(int elevator) {
+        this.elevator = elevator;
+    }
+
+    public boolean isOnElevator() {
+        return elevator > 0;
+    }
+
+    public int getDerail() {
+        return derail;
+    }
+
+    public void setDerail(int derail) {
+        this.derail = derail;
+    }
+
+    public boolean isExplode() {
+        return explode;
+    }
+
+    public void setExplode(boolean explode) {
+        this.explode = explode;
+    }
+
+    public boolean isGhost() {
+        return ghost;
+    }
+
+    public void setGhost(boolean ghost) {
+        this.ghost = ghost;
+    }
+
+    public boolean isHighSpeed() {
+        return highSpeed;
+    }
+
+    public void setHighSpeed(boolean highSpeed) {
+        this.highSpeed = highSpeed;
+    }
+
+    public NBTTagCompound writeToNBT(NBTTagCompound data) {
+        data.setInteger(LAUNCHED, launched);
+        data.setInteger(MOUNT_PREVENTION, mountPrevention);
+        data.setByte(ELEVATOR, (byte) elevator);
+        data.setByte(DERAIL, (byte) derail);
+        data.setBoolean(EXPLODE, explode);
+        data.setBoolean(GHOST, ghost);
+        data.setBoolean(CartTools.HIGH_SPEED_TAG, highSpeed);
+        return data;
+    }
+
+    public void readFromNBT(NBTTagCompound data) {
+        launched = data.getInteger(LAUNCHED);
+        mountPrevention = data.getInteger(MOUNT_PREVENTION);
+        elevator = data.getInteger(ELEVATOR);
+        derail = data.getInteger(DERAIL);
+        explode = data.getBoolean(EXPLODE);
+        ghost = data.getBoolean(GHOST);
+        highSpeed = data.getBoolean(CartTools.HIGH_SPEED_TAG);
+    }
+
+    /**
+     * Carts saved before this state existed kept it in the cart's entity data.
+     * Any such tags are moved over the first time the state is used.
+     */
+    private void readLegacy(NBTTagCompound data) {
+        if (data.hasKey(LAUNCHED)) {
+            launched = data.getInteger(LAUNCHED);
+            data.removeTag(LAUNCHED);
+        }
+        if (data.hasKey(MOUNT_PREVENTION)) {
+            mountPrevention = data.getInteger(MOUNT_PREVENTION);
+            data.removeTag(MOUNT_PREVENTION);
+        }
+        if (data.hasKey(ELEVATOR)) {
+            elevator = data.getInteger(ELEVATOR);
+            data.removeTag(ELEVATOR);
+        }
+        if (data.hasKey(DERAIL)) {
+            derail = data.getInteger(DERAIL);
+            data.removeTag(DERAIL);
+        }
+        if (data.hasKey(EXPLODE)) {
+            explode = data.getBoolean(EXPLODE);
+            data.removeTag(EXPLODE);
+        }
+        if (data.hasKey(GHOST)) {
+            ghost = data.getBoolean(GHOST);
+            data.removeTag(GHOST);
+        }
+        if (data.hasKey(CartTools.HIGH_SPEED_TAG)) {
+            highSpeed = data.getBoolean(CartTools.HIGH_SPEED_TAG);
+            data.removeTag(CartTools.HIGH_SPEED_TAG);
+        }
+    }
+
+    public static class Provider implements ICapabilitySerializable<NBTTagCompound> {
+        private final CartState state = new CartState();
+
+        @Override
+        public boolean hasCapability(Capability<?> capability, @Nullable EnumFacing facing) {
+            return capability == CART_STATE_CAPABILITY;
+        }
+
+        @Nullable
+        @Override
+        public <T> T getCapability(Capability<T> capability, @Nullable EnumFacing facing) {
+            if (capability == CART_STATE_CAPABILITY)
+                return CART_STATE_CAPABILITY.cast(state);
+            return null;
+        }
+
+        @Override
+        public NBTTagCompound serializeNBT() {
+            return state.writeToNBT(new NBTTagCompound());
+        }
+
+        @Override
+        public void deserializeNBT(NBTTagCompound nbt) {
+            state.readFromNBT(nbt);
+        }
+    }
+}
@@ -16,7 +16,9 @@ import mods.railcraft.api.core.RailcraftConstantsAPI;
 import mods.railcraft.api.core.RailcraftFakePlayer;
 import mods.railcraft.api.core.items.IMinecartItem;
 import mods.railcraft.common.blocks.tracks.TrackTools;
+import mods.railcraft.common.core.RailcraftConstants;
 import mods.railcraft.common.plugins.forge.PlayerPlugin;
+import mods.railcraft.common.plugins.forge.ReflectionPlugin;
 import mods.railcraft.common.util.inventory.InvTools;
 import mods.railcraft.common.util.misc.Game;
 import mods.railcraft.common.util.misc.MiscTools;
@@ -27,6 +29,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
@@ -34,6 +37,7 @@ import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +52,19 @@ public class CartTools {
     public static Map<Item, IRailcraftCartContainer> vanillaCartItemMap = new HashMap<Item, IRailcraftCartContainer>();
     public static Map<Class<? extends Entity>, IRailcraftCartContainer> classReplacements = new HashMap<Class<? extends Entity>, IRailcraftCartContainer>();
     public static String HIGH_SPEED_TAG = "HighSpeed";
+    private static final ReflectionPlugin.FieldAccessor<EntityMinecart, Boolean> IS_IN_REVERSE = ReflectionPlugin.field(EntityMinecart.class, RailcraftConstants.IS_REVERSED_VARIABLE_INDEX);
+
+    /**
+     * Carts are treated as never reversed if the vanilla field can't be found.
+     */
+    public static boolean isInReverse(EntityMinecart cart) {
+        return IS_IN_REVERSE.isAvailable() && IS_IN_REVERSE.get(cart);
+    }
+
+    public static void setInReverse(EntityMinecart cart, boolean reverse) {
+        if (IS_IN_REVERSE.isAvailable())
+            IS_IN_REVERSE.set(cart, reverse);
+    }
 
     /**
      * Spawns a new cart entity using the provided item.
@@ -81,7 +98,7 @@ public class CartTools {
     public static EntityMinecart placeCart(IRailcraftCartContainer cartType, GameProfile owner, ItemStack cartStack, World world, BlockPos pos) {
         IBlockState state = world.getBlockState(pos);
         if (TrackTools.isRailBlock(state))
-            if (!CartToolsAPI.isMinecartAt(world, pos, 0)) {
+            if (!isMinecartAt(world, pos, 0)) {
                 EntityMinecart cart = cartType.makeCart(cartStack, world, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5);
                 if (cartStack.hasDisplayName())
                     cart.setCustomNameTag(cartStack.getDisplayName());
@@ -129,11 +146,11 @@ public class CartTools {
     }
 
     public static void setTravellingHighSpeed(EntityMinecart cart, boolean flag) {
-        cart.getEntityData().setBoolean(HIGH_SPEED_TAG, flag);
+        CartState.get(cart).setHighSpeed(flag);
     }
 
     public static boolean isTravellingHighSpeed(EntityMinecart cart) {
-        return cart.getEntityData().getBoolean(HIGH_SPEED_TAG);
+        return CartState.get(cart).isHighSpeed();
     }
 
     public static boolean cartVelocityIsLessThan(EntityMinecart cart, float vel) {
@@ -141,18 +158,47 @@ public class CartTools {
     }
 
     public static List<EntityMinecart> getMinecartsIn(World world, AxisAlignedBB searchBox) {
-        List<EntityMinecart> entities = world.getEntitiesWithinAABB(EntityMinecart.class, searchBox);
-        return entities.stream().filter(cart -> !cart.isDead).collect(Collectors.toList());
+        return CartIndex.getIndex(world).getCarts(searchBox);
+    }
+
+    /**
+     * @param sensitivity Controls the size of the search box, ranges from
+     *                    (-inf, 0.49].
+     */
+    public static List<EntityMinecart> getMinecartsAt(World world, BlockPos pos, float sensitivity) {
+        sensitivity = Math.min(sensitivity, 0.49f);
+        return getMinecartsIn(world, new AxisAlignedBB(pos.getX() + sensitivity, pos.getY() + sensitivity, pos.getZ() + sensitivity,
+                pos.getX() + 1 - sensitivity, pos.getY() + 1 - sensitivity, pos.getZ() + 1 - sensitivity));
+    }
+
+    public static boolean isMinecartAt(World world, BlockPos pos, float sensitivity) {
+        return !getMinecartsAt(world, pos, sensitivity).isEmpty();
+    }
+
+    public static List<EntityMinecart> getMinecartsOnSide(World world, BlockPos pos, float sensitivity, EnumFacing side) {
+        return getMinecartsAt(world, pos.offset(side), sensitivity);
+    }
+
+    @Nullable
+    public static EntityMinecart getMinecartOnSide(World world, BlockPos pos, float sensitivity, EnumFacing side) {
+        List<EntityMinecart> carts = getMinecartsOnSide(world, pos, sensitivity, side);
+        return carts.isEmpty() ? null : carts.get(0);
+    }
+
+    public static List<EntityMinecart> getMinecartsOnAllSides(World world, BlockPos pos, float sensitivity) {
+        List<EntityMinecart> carts = new ArrayList<>();
+        for (EnumFacing side : EnumFacing.VALUES) {
+            carts.addAll(getMinecartsOnSide(world, pos, sensitivity, side));
+        }
+        return carts;
     }
 
     public static List<UUID> getMinecartUUIDsAt(World world, BlockPos pos, float sensitivity) {
-        return getMinecartUUIDsAt(world, pos.getX(), pos.getY(), pos.getZ(), sensitivity);
+        return getMinecartsAt(world, pos, sensitivity).stream().map(Entity::getPersistentID).collect(Collectors.toList());
     }
 
     public static List<UUID> getMinecartUUIDsAt(World world, int i, int j, int k, float sensitivity) {
-        sensitivity = Math.min(sensitivity, 0.49f);
-        List<EntityMinecart> entities = world.getEntitiesWithinAABB(EntityMinecart.class, new AxisAlignedBB(i + sensitivity, j + sensitivity, k + sensitivity, i + 1 - sensitivity, j + 1 - sensitivity, k + 1 - sensitivity));
-        return entities.stream().filter(cart -> !cart.isDead).map(Entity::getPersistentID).collect(Collectors.toList());
+        return getMinecartUUIDsAt(world, new BlockPos(i, j, k), sensitivity);
     }
 
     public static void addPassenger(EntityMinecart cart, Entity passenger) {
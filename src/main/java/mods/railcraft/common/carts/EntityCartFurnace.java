@@ -17,16 +17,17 @@ import net.minecraft.util.EnumHand;
 import net.minecraft.world.World;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.entity.minecart.MinecartInteractEvent;
-import net.minecraftforge.fml.relauncher.ReflectionHelper;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import javax.annotation.Nullable;
 
 import mods.railcraft.common.plugins.forge.FuelPlugin;
+import mods.railcraft.common.plugins.forge.ReflectionPlugin;
 import mods.railcraft.common.util.inventory.InvTools;
 
 public class EntityCartFurnace extends EntityMinecartFurnace implements IRailcraftCart {
+    private static final ReflectionPlugin.FieldAccessor<EntityMinecartFurnace, Integer> FUEL = ReflectionPlugin.field(EntityMinecartFurnace.class, 1);
 
     public EntityCartFurnace(World world) {
         super(world);
@@ -69,7 +70,7 @@ public class EntityCartFurnace extends EntityMinecartFurnace implements IRailcra
     public boolean processInitialInteract(EntityPlayer player, @Nullable ItemStack stack, EnumHand hand) {
         if (MinecraftForge.EVENT_BUS.post(new MinecartInteractEvent(this, player, stack, hand)))
             return true;
-        Integer fuel = ReflectionHelper.getPrivateValue(EntityMinecartFurnace.class, this, 1);
+        int fuel = FUEL.get(this);
         if (stack != null) {
             int burnTime = FuelPlugin.getBurnTime(stack);
 
@@ -77,7 +78,7 @@ public class EntityCartFurnace extends EntityMinecartFurnace implements IRailcra
                 if (!player.capabilities.isCreativeMode)
                     player.inventory.setInventorySlotContents(player.inventory.currentItem, InvTools.depleteItem(stack));
                 fuel += burnTime;
-                ReflectionHelper.setPrivateValue(EntityMinecartFurnace.class, this, fuel, 1);
+                FUEL.set(this, fuel);
 
                 pushX = posX - player.posX;
                 pushZ = posZ - player.posZ;
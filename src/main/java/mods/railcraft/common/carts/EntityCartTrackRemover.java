@@ -10,7 +10,6 @@
 
 package mods.railcraft.common.carts;
 
-import mods.railcraft.api.carts.CartToolsAPI;
 import mods.railcraft.common.blocks.RailcraftBlocks;
 import mods.railcraft.common.blocks.tracks.TrackTools;
 import mods.railcraft.common.gui.EnumGui;
@@ -79,7 +78,7 @@ public class EntityCartTrackRemover extends CartBaseMaintenance {
             tracksRemoved.add(track);
         else if (WorldPlugin.isBlockAt(worldObj, track, RailcraftBlocks.TRACK_FORCE.block()))
             tracksRemoved.add(track);
-        else if (!CartToolsAPI.isMinecartAt(worldObj, track, -0.2f)) {
+        else if (!CartTools.isMinecartAt(worldObj, track, -0.2f)) {
             Block block = WorldPlugin.getBlock(worldObj, track);
             removeOldTrack(track, block);
             blink();
@@ -196,7 +196,7 @@ public class LinkageHandler {
      * @param lm   LinkageManager
      */
     private void adjustCart(EntityMinecart cart, LinkageManager lm) {
-        int launched = cart.getEntityData().getInteger("Launched");
+        int launched = CartState.get(cart).getLaunched();
         if (launched > 0)
             return;
 
@@ -213,7 +213,7 @@ public class LinkageHandler {
                 lm.createLink(cart, link_A);
                 return;
             }
-            launched = link_A.getEntityData().getInteger("Launched");
+            launched = CartState.get(link_A).getLaunched();
             if (launched <= 0 && !isOnElevator(link_A)) {
                 linked = true;
                 adjustVelocity(cart, link_A, 'A');
@@ -229,7 +229,7 @@ public class LinkageHandler {
                 lm.createLink(cart, link_B);
                 return;
             }
-            launched = link_B.getEntityData().getInteger("Launched");
+            launched = CartState.get(link_B).getLaunched();
             if (launched <= 0 && !isOnElevator(link_B)) {
                 linked = true;
                 adjustVelocity(cart, link_B, 'B');
@@ -341,8 +341,7 @@ public class LinkageHandler {
     }
 
     private boolean isOnElevator(EntityMinecart cart) {
-        int elevator = cart.getEntityData().getByte("elevator");
-        return elevator > 0;
+        return CartState.get(cart).isOnElevator();
     }
 
     @SubscribeEvent
@@ -82,6 +82,7 @@ public class LinkageManager implements ILinkageManager {
      */
     public void removeLinkageId(EntityMinecart cart) {
         carts.remove(getLinkageId(cart));
+        Train.onCartRemoved(cart);
     }
 
     /**
@@ -109,6 +110,7 @@ public class LinkageManager implements ILinkageManager {
         EntityMinecart cart = carts.get(id);
         if (cart != null && cart.isDead) {
             carts.remove(id);
+            Train.onCartRemoved(cart);
             return null;
         }
         return carts.get(id);
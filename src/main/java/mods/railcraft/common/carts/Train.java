@@ -10,6 +10,7 @@
 package mods.railcraft.common.carts;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import mods.railcraft.common.blocks.charge.CapabilityCartBattery;
 import mods.railcraft.common.blocks.charge.ICartBattery;
 import mods.railcraft.common.plugins.forge.NBTPlugin;
@@ -29,11 +30,21 @@ import java.util.stream.StreamSupport;
 public class Train implements Iterable<EntityMinecart> {
     public static final String TRAIN_NBT = "rcTrain";
     private static final Map<UUID, Train> trains = new HashMap<UUID, Train>();
+    /**
+     * Identity map of the train each cart was last validated as belonging to.
+     */
+    private static final Map<EntityMinecart, Train> cartTrains = new MapMaker().weakKeys().makeMap();
+    /**
+     * Bumped whenever train membership may have changed: carts linking, unlinking or dying.
+     * Trains only need to be validated again once this changes.
+     */
+    private static int registryVersion;
     private final UUID uuid;
     private final LinkedList<UUID> carts = new LinkedList<UUID>();
     private final List<UUID> safeCarts = Collections.unmodifiableList(carts);
     private final Collection<UUID> lockingTracks = new HashSet<UUID>();
     private TrainState trainState = TrainState.NORMAL;
+    private int validatedVersion = -1;
 
     public Train(EntityMinecart cart) {
         uuid = UUID.randomUUID();
@@ -42,7 +53,10 @@ public class Train implements Iterable<EntityMinecart> {
     }
 
     public static Train getTrain(EntityMinecart cart) {
-        Train train = trains.get(getTrainUUID(cart));
+        Train train = getCachedTrain(cart);
+        if (train != null)
+            return train;
+        train = trains.get(getTrainUUID(cart));
         if (train != null && !train.containsCart(cart)) {
             train.releaseTrain();
             trains.remove(train.getUUID());
@@ -58,9 +72,34 @@ public class Train implements Iterable<EntityMinecart> {
             train = new Train(cart);
             trains.put(train.getUUID(), train);
         }
+        cartTrains.put(cart, train);
+        train.validatedVersion = registryVersion;
         return train;
     }
 
+    /**
+     * @return the cart's train if nothing has changed since it was last validated, null otherwise
+     */
+    @Nullable
+    private static Train getCachedTrain(EntityMinecart cart) {
+        Train train = cartTrains.get(cart);
+        if (train != null && train.validatedVersion == registryVersion)
+            return train;
+        return null;
+    }
+
+    /**
+     * Forces trains to be validated again the next time they are looked up.
+     */
+    public static void markMembershipChanged() {
+        registryVersion++;
+    }
+
+    public static void onCartRemoved(EntityMinecart cart) {
+        if (cartTrains.remove(cart) != null)
+            markMembershipChanged();
+    }
+
     private static Train getTrainUnsafe(EntityMinecart cart) {
         if (cart == null)
             return null;
@@ -91,6 +130,11 @@ public class Train implements Iterable<EntityMinecart> {
         if (cart1 == cart2)
             return true;
 
+        Train cached1 = getCachedTrain(cart1);
+        Train cached2 = getCachedTrain(cart2);
+        if (cached1 != null && cached2 != null)
+            return cached1 == cached2;
+
         UUID train1 = getTrainUUID(cart1);
         UUID train2 = getTrainUUID(cart2);
 
@@ -110,11 +154,15 @@ public class Train implements Iterable<EntityMinecart> {
 
     public static void removeTrainTag(EntityMinecart cart) {
         cart.getEntityData().removeTag(TRAIN_NBT);
+        cartTrains.remove(cart);
+        markMembershipChanged();
     }
 
     public static void addTrainTag(EntityMinecart cart, Train train) {
         UUID trainId = train.getUUID();
         NBTPlugin.writeUUID(cart.getEntityData(), TRAIN_NBT, trainId);
+        cartTrains.put(cart, train);
+        markMembershipChanged();
     }
 
     @Nullable
@@ -9,12 +9,16 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.commands;
 
+import com.google.common.cache.CacheStats;
 import mods.railcraft.api.signals.*;
 import mods.railcraft.common.blocks.RailcraftTileEntity;
+import mods.railcraft.common.blocks.charge.ChargeManager;
+import mods.railcraft.common.blocks.charge.ChargeNetwork;
 import mods.railcraft.common.blocks.machine.wayobjects.boxes.TileBoxBase;
 import mods.railcraft.common.plugins.forge.ChatPlugin;
 import mods.railcraft.common.plugins.forge.WorldPlugin;
 import mods.railcraft.common.util.misc.Game;
+import mods.railcraft.common.util.routing.RoutingLogic;
 import net.minecraft.block.Block;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
@@ -42,6 +46,8 @@ public class CommandDebug extends SubCommand {
     public CommandDebug() {
         super("debug");
         addChildCommand(new CommandDebugTile());
+        addChildCommand(new CommandDebugCharge());
+        addChildCommand(new CommandDebugRouting());
     }
 
     private static void printLine(ICommandSender sender, String msg, Object... args) {
@@ -64,6 +70,44 @@ public class CommandDebug extends SubCommand {
         return String.format("[%d, %d, %d]", coord.getX(), coord.getY(), coord.getZ());
     }
 
+    public static class CommandDebugCharge extends SubCommand {
+        public CommandDebugCharge() {
+            super("charge");
+        }
+
+        @Override
+        public void executeSubCommand(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+            if (args.length > 1)
+                CommandHelpers.throwWrongUsage(sender, this);
+
+            World world = CommandHelpers.getWorld(sender, this, args, 0);
+            ChargeNetwork.Stats stats = ChargeManager.getNetwork(world).getStats();
+            printLine(sender, "Railcraft Charge Network Debug, Dim {0}", world.provider.getDimension());
+            printLine(sender, "Nodes = {0}, Graphs = {1}, Queue Depth = {2}", stats.getNodeCount(), stats.getGraphCount(), stats.getQueueDepth());
+            printLine(sender, "Nodes Processed: Last Tick = {0}, Total = {1}", stats.getNodesProcessedLastTick(), stats.getNodesProcessedTotal());
+            printLine(sender, "Graphs Rebuilt = {0}", stats.getGraphsRebuilt());
+            printLine(sender, "Queue Time (us): Last Tick = {0}, Peak = {1}", stats.getQueueTimeLastTickMicros(), stats.getPeakQueueTimeMicros());
+            printLine(sender, "Tick Time (us): Last Tick = {0}, Average = {1}", stats.getTickTimeLastTickMicros(), Math.round(stats.getAverageTickTimeMicros()));
+        }
+    }
+
+    public static class CommandDebugRouting extends SubCommand {
+        public CommandDebugRouting() {
+            super("routing");
+        }
+
+        @Override
+        public void executeSubCommand(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException {
+            if (args.length > 0)
+                CommandHelpers.throwWrongUsage(sender, this);
+
+            CacheStats stats = RoutingLogic.getCacheStats();
+            printLine(sender, "Railcraft Routing Logic Cache Debug");
+            printLine(sender, "Cached Tables = {0}", RoutingLogic.getCacheSize());
+            printLine(sender, "Hits = {0}, Misses = {1}, Hit Rate = {2}", stats.hitCount(), stats.missCount(), String.format("%.2f", stats.hitRate()));
+        }
+    }
+
     public static class CommandDebugTile extends SubCommand {
         public CommandDebugTile() {
             super("tile");
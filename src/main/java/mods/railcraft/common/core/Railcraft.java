@@ -21,6 +21,10 @@ import mods.railcraft.common.commands.RootCommand;
 import mods.railcraft.common.modules.RailcraftModuleManager;
 import mods.railcraft.common.plugins.craftguide.CraftGuidePlugin;
 import mods.railcraft.common.plugins.forge.DataManagerPlugin;
+import mods.railcraft.common.util.crafting.BlastFurnaceCraftingManager;
+import mods.railcraft.common.util.crafting.CokeOvenCraftingManager;
+import mods.railcraft.common.util.crafting.RockCrusherCraftingManager;
+import mods.railcraft.common.util.crafting.RollingMachineCraftingManager;
 import mods.railcraft.common.util.inventory.filters.StandardStackFilters;
 import mods.railcraft.common.util.misc.BallastRegistry;
 import mods.railcraft.common.util.misc.BlinkTick;
@@ -190,6 +194,8 @@ public final class Railcraft {
 //        Game.log(Level.FINE, "Post-Init Phase");
         RailcraftModuleManager.postInit();
 
+        indexRecipes();
+
         proxy.finalizeClient();
 
         CraftGuidePlugin.init();
@@ -197,6 +203,21 @@ public final class Railcraft {
         RailcraftConfig.postInit();
     }
 
+    /**
+     * Every module has registered its recipes by now. Recipes added later
+     * through the API are picked up by the next lookup.
+     */
+    private static void indexRecipes() {
+        if (RailcraftCraftingManager.cokeOven instanceof CokeOvenCraftingManager)
+            ((CokeOvenCraftingManager) RailcraftCraftingManager.cokeOven).buildIndex();
+        if (RailcraftCraftingManager.blastFurnace instanceof BlastFurnaceCraftingManager)
+            ((BlastFurnaceCraftingManager) RailcraftCraftingManager.blastFurnace).buildIndex();
+        if (RailcraftCraftingManager.rockCrusher instanceof RockCrusherCraftingManager)
+            ((RockCrusherCraftingManager) RailcraftCraftingManager.rockCrusher).buildIndex();
+        if (RailcraftCraftingManager.rollingMachine instanceof RollingMachineCraftingManager)
+            ((RollingMachineCraftingManager) RailcraftCraftingManager.rollingMachine).buildIndex();
+    }
+
     @Mod.EventHandler
     public void serverStarting(FMLServerStartingEvent event) {
         CommandHandler commandManager = (CommandHandler) event.getServer().getCommandManager();
@@ -97,6 +97,7 @@ public class RailcraftConfig {
     private static boolean enableGhostTrain;
     private static int minecartTankCapacity = 32;
     private static int minecartTankFillRate = 32;
+    private static int fluidLoaderMaxRate = 128;
     private static int launchRailMaxForce;
     private static int cartDispenserDelay;
     private static int minecartStackSize;
@@ -113,6 +114,9 @@ public class RailcraftConfig {
     private static int locomotiveLightLevel;
     private static float boreMiningSpeedMultiplier = 1F;
     private static float chargeMaintenanceCostMultiplier = 1F;
+    private static int chargeTickBudget = 2000;
+    private static int itemLoaderTransferRate = 1;
+    private static int rockCrusherCaptureInterval = 4;
     private static float boilerMultiplierFuel = 1F;
     private static float boilerMultiplierBiofuel = 1F;
     private static float fuelPerSteamMultiplier = Steam.FUEL_PER_BOILER_CYCLE;
@@ -253,7 +257,12 @@ public class RailcraftConfig {
 
         machinesRequirePower = get(CAT_TWEAKS_BLOCKS + ".machines", "requirePower", true, "change to '{t}=false' to disable the Power Requirements for most machines");
 
+        itemLoaderTransferRate = get(CAT_TWEAKS_BLOCKS + ".loaders", "itemsPerTick", 1, 1, 576, "the number of items the Item Loaders and Unloaders move each tick, 64 moves a full stack at a time, min=1, default=1, max=576");
+
+        rockCrusherCaptureInterval = get(CAT_TWEAKS_BLOCKS + ".rockCrusher", "captureInterval", 1, 4, 20, "the number of ticks between each time the Rock Crusher looks for items and creatures on top of it, min=1, default=4, max=20");
+
         chargeMaintenanceCostMultiplier = get(CAT_TWEAKS_BLOCKS + ".charge", "maintenanceCostMultiplier", 0.2F, 1.0F, 10F, "adjust the maintenance costs for the Charge network, min=0.2, default=1.0, max=10.0");
+        chargeTickBudget = get(CAT_TWEAKS_BLOCKS + ".charge", "tickBudget", 100, 2000, 50000, "the time in microseconds the Charge network may spend building its graphs each tick, anything left over waits for the next tick, min=100, default=2000, max=50000");
 
         boilerMultiplierFuel = get(CAT_TWEAKS_BLOCKS + ".boiler", "fuelMultiplier", 0.2F, 1.0F, 10F, "adjust the heat value of Fuel in a Boiler, min=0.2, default=1.0, max=10.0");
         boilerMultiplierBiofuel = get(CAT_TWEAKS_BLOCKS + ".boiler", "biofuelMultiplier", 0.2F, 1.0F, 10F, "adjust the heat value of BioFuel in a Boiler, min=0.2, default=1.0, max=10.0");
@@ -320,6 +329,10 @@ public class RailcraftConfig {
                         + "there are 1000 milli-buckets in a bucket, ignored if 'tweaks.minecarts.tank.useCustomValues=false'");
         if (minecartTankCustomize)
             minecartTankFillRate = fillrate;
+
+        fluidLoaderMaxRate = get(CAT_TWEAKS_CARTS + ".tank", "maxTransferRate", 4, 128, 1000,
+                "the fastest a Fluid Loader or Unloader may speed up to, in milli-buckets per tick, while neither side runs short\n"
+                        + "it starts each cart at the fill rate, min=4, default=128, max=1000");
     }
 
     private static void loadRecipeOption() {
@@ -826,6 +839,13 @@ public class RailcraftConfig {
         return minecartTankFillRate;
     }
 
+    /**
+     * Never below the fill rate, so the fill rate can always be reached.
+     */
+    public static int getFluidLoaderMaxRate() {
+        return Math.max(fluidLoaderMaxRate, minecartTankFillRate);
+    }
+
     public static int getTankCartCapacity() {
         return minecartTankCapacity * FluidTools.BUCKET_VOLUME;
     }
@@ -850,6 +870,18 @@ public class RailcraftConfig {
         return chargeMaintenanceCostMultiplier;
     }
 
+    public static int chargeTickBudget() {
+        return chargeTickBudget;
+    }
+
+    public static int itemLoaderTransferRate() {
+        return itemLoaderTransferRate;
+    }
+
+    public static int rockCrusherCaptureInterval() {
+        return rockCrusherCaptureInterval;
+    }
+
     public static float boilerFuelMultiplier() {
         return boilerMultiplierFuel;
     }
@@ -200,6 +200,34 @@ public class TankManager extends ForwardingList<StandardTank> implements IFluidH
         return targets;
     }
 
+    /**
+     * Pushes from the tank to all the targets in one pass. If they would take
+     * more than the tank holds, it is shared out in proportion to what each would take.
+     *
+     * @param maxPerTarget the most any one target is offered
+     */
+    public void distribute(List<IFluidHandler> targets, int tankIndex, int maxPerTarget) {
+        StandardTank tank = get(tankIndex);
+        FluidStack fluid = tank.getFluid();
+        if (targets.isEmpty() || fluid == null || fluid.amount <= 0)
+            return;
+        int available = fluid.amount;
+        FluidStack offer = new FluidStack(fluid, Math.min(available, maxPerTarget));
+        int[] demand = new int[targets.size()];
+        long totalDemand = 0;
+        for (int i = 0; i < demand.length; i++) {
+            demand[i] = targets.get(i).fill(offer, false);
+            totalDemand += demand[i];
+        }
+        if (totalDemand <= 0)
+            return;
+        for (int i = 0; i < demand.length; i++) {
+            int share = totalDemand <= available ? demand[i] : (int) (available * demand[i] / totalDemand);
+            if (share > 0)
+                FluidUtil.tryFluidTransfer(targets.get(i), tank, share, true);
+        }
+    }
+
     public void transfer(Collection<IFluidHandler> targets, int tankIndex, BiConsumer<IFluidHandler, IFluidHandler> transfer) {
         targets.forEach(them -> transfer.accept(get(tankIndex), them));
     }
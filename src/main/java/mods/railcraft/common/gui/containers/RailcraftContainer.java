@@ -154,6 +154,9 @@ public abstract class RailcraftContainer extends Container {
 
         if (stackSlot.stackSize <= 0)
             slot.putStack(null);
+        else
+            // The stack was edited in place, so let the inventory know
+            slot.onSlotChanged();
     }
 
     private void fillPhantomSlot(SlotRailcraft slot, ItemStack stackHeld, int mouseButton) {
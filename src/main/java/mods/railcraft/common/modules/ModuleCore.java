@@ -149,10 +149,12 @@ public class ModuleCore extends RailcraftModulePayload {
                 BuildcraftPlugin.init();
 
                 CapabilityCartBattery.register();
+                CartState.register();
 
                 MinecraftForge.EVENT_BUS.register(CrowbarHandler.instance());
                 MinecraftForge.EVENT_BUS.register(MinecartHooks.getInstance());
                 MinecraftForge.EVENT_BUS.register(LinkageHandler.getInstance());
+                MinecraftForge.EVENT_BUS.register(CartIndex.getEventListener());
                 MinecraftForge.EVENT_BUS.register(new CraftingHandler());
                 MinecraftForge.EVENT_BUS.register(new SoundLimiterTicker());
                 MinecraftForge.EVENT_BUS.register(new MinecartRiderAIDisabler());
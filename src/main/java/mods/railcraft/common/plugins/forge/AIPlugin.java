@@ -18,11 +18,21 @@ import net.minecraft.entity.ai.EntityAITasks;
  */
 public class AIPlugin {
 
-    public static boolean addAITask(EntityLiving entity, int priority, EntityAIBase task) {
+    public static boolean hasAITask(EntityLiving entity, Class<? extends EntityAIBase> taskClass) {
         for (EntityAITasks.EntityAITaskEntry entry : entity.tasks.taskEntries) {
-            if (entry.action.getClass() == task.getClass())
-                return false;
+            if (entry.action.getClass() == taskClass)
+                return true;
         }
+        return false;
+    }
+
+    /**
+     * Adds the task unless the entity already has one of the same class,
+     * so it is safe to call repeatedly on the same entity.
+     */
+    public static boolean addAITask(EntityLiving entity, int priority, EntityAIBase task) {
+        if (hasAITask(entity, task.getClass()))
+            return false;
         entity.tasks.addTask(priority, task);
         return true;
     }
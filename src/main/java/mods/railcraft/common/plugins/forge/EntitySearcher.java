@@ -12,6 +12,7 @@ package mods.railcraft.common.plugins.forge;
 
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import mods.railcraft.common.carts.CartIndex;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.item.EntityMinecart;
 import net.minecraft.util.EntitySelectors;
@@ -51,7 +52,10 @@ public class EntitySearcher {
             this.entityClass = entityClass;
         }
 
+        @SuppressWarnings("unchecked")
         public List<T> at(World world) {
+            if (EntityMinecart.class.isAssignableFrom(entityClass))
+                return (List<T>) CartIndex.getIndex(world).getCarts((Class<? extends EntityMinecart>) entityClass, searchBox, filter::apply);
             return world.getEntitiesWithinAABB(entityClass, searchBox, filter);
         }
 
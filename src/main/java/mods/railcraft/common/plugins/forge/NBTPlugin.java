@@ -12,7 +12,6 @@ package mods.railcraft.common.plugins.forge;
 import com.google.common.collect.ForwardingList;
 import net.minecraft.nbt.*;
 import net.minecraft.util.math.BlockPos;
-import net.minecraftforge.fml.common.ObfuscationReflectionHelper;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -23,6 +22,7 @@ import java.util.UUID;
  * @author CovertJaguar <http://www.railcraft.info/>
  */
 public class NBTPlugin {
+    private static final ReflectionPlugin.FieldAccessor<NBTTagList, List<? extends NBTBase>> TAG_LIST = ReflectionPlugin.field(NBTTagList.class, 1);
 
     public static <T extends Enum<T>> void writeEnumOrdinal(NBTTagCompound data, String tag, Enum<T> e) {
         assert e.ordinal() < Byte.MAX_VALUE;
@@ -80,6 +80,44 @@ public class NBTPlugin {
         return null;
     }
 
+    /**
+     * Stores a long array as an int array of high/low word pairs, there being no long array tag.
+     */
+    public static void writeLongArray(NBTTagCompound data, String tag, long[] array) {
+        int[] ints = new int[array.length * 2];
+        for (int i = 0; i < array.length; i++) {
+            ints[i * 2] = (int) (array[i] >>> 32);
+            ints[i * 2 + 1] = (int) array[i];
+        }
+        data.setIntArray(tag, ints);
+    }
+
+    public static long[] readLongArray(NBTTagCompound data, String tag) {
+        int[] ints = data.getIntArray(tag);
+        long[] array = new long[ints.length / 2];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = ((long) ints[i * 2] << 32) | (ints[i * 2 + 1] & 0xFFFFFFFFL);
+        }
+        return array;
+    }
+
+    public static void writeDoubleArray(NBTTagCompound data, String tag, double[] array) {
+        long[] bits = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            bits[i] = Double.doubleToRawLongBits(array[i]);
+        }
+        writeLongArray(data, tag, bits);
+    }
+
+    public static double[] readDoubleArray(NBTTagCompound data, String tag) {
+        long[] bits = readLongArray(data, tag);
+        double[] array = new double[bits.length];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = Double.longBitsToDouble(bits[i]);
+        }
+        return array;
+    }
+
     public enum EnumNBTType {
 
         END(NBTTagEnd.class),
@@ -120,8 +158,9 @@ public class NBTPlugin {
 
         private final ArrayList<T> backingList;
 
+        @SuppressWarnings("unchecked")
         public NBTList(NBTTagList nbtList) {
-            backingList = ObfuscationReflectionHelper.getPrivateValue(NBTTagList.class, nbtList, 1);
+            backingList = (ArrayList<T>) TAG_LIST.get(nbtList);
         }
 
         @Override
@@ -0,0 +1,145 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) CovertJaguar, 2011-2016
+ http://railcraft.info
+
+ This code is the property of CovertJaguar
+ and may only be used with explicit written
+ permission unless otherwise specified on the
+ license page at http://railcraft.info/wiki/info:license.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.common.plugins.forge;
+
+import mods.railcraft.common.util.misc.Game;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Cached access to private fields of vanilla classes.
+ *
+ * The field is looked up once, the first time the accessor is used, and every
+ * get/set afterwards goes through a {@link MethodHandle}. Accessors should be
+ * stored in static final fields. Since nothing is looked up when they are
+ * created, a field that can't be found doesn't stop the class holding the
+ * accessor from loading, it only fails the calls that use it.
+ *
+ * @author CovertJaguar <http://www.railcraft.info>
+ */
+public final class ReflectionPlugin {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private ReflectionPlugin() {
+    }
+
+    /**
+     * Resolves a field by its declaration index, matching the indices used with
+     * {@link net.minecraftforge.fml.common.ObfuscationReflectionHelper}.
+     */
+    public static <O, T> FieldAccessor<O, T> field(Class<? super O> owner, int fieldIndex) {
+        return new FieldAccessor<>(owner, fieldIndex);
+    }
+
+    public static final class FieldAccessor<O, T> {
+        private final Class<?> owner;
+        private final int fieldIndex;
+        @Nullable
+        private Handles handles;
+        @Nullable
+        private RuntimeException failure;
+
+        private FieldAccessor(Class<?> owner, int fieldIndex) {
+            this.owner = owner;
+            this.fieldIndex = fieldIndex;
+        }
+
+        /**
+         * Whether the field could be found, for callers that have a sensible fallback when it can't.
+         */
+        public boolean isAvailable() {
+            try {
+                resolve();
+                return true;
+            } catch (RuntimeException ex) {
+                return false;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(O instance) {
+            Handles handles = resolve();
+            try {
+                return (T) (Object) handles.getter.invokeExact((Object) instance);
+            } catch (Throwable ex) {
+                throw new ReflectionHelper.UnableToAccessFieldException(new String[]{handles.name}, asException(ex));
+            }
+        }
+
+        public void set(O instance, T value) {
+            Handles handles = resolve();
+            try {
+                handles.setter.invokeExact((Object) instance, (Object) value);
+            } catch (Throwable ex) {
+                throw new ReflectionHelper.UnableToAccessFieldException(new String[]{handles.name}, asException(ex));
+            }
+        }
+
+        /**
+         * Two threads may both resolve the field the first time, which is harmless.
+         * Handles only has final fields, so either result is safe to share.
+         */
+        private Handles resolve() {
+            Handles resolved = handles;
+            if (resolved != null)
+                return resolved;
+            if (failure != null)
+                throw failure;
+            Field field;
+            try {
+                field = owner.getDeclaredFields()[fieldIndex];
+            } catch (Exception ex) {
+                throw fail(new ReflectionHelper.UnableToFindFieldException(new String[]{owner.getName() + "#" + fieldIndex}, ex));
+            }
+            String name = field.getDeclaringClass().getName() + "." + field.getName();
+            try {
+                field.setAccessible(true);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                resolved = new Handles(name, lookup.unreflectGetter(field).asType(GETTER_TYPE), lookup.unreflectSetter(field).asType(SETTER_TYPE));
+            } catch (Exception ex) {
+                throw fail(new ReflectionHelper.UnableToAccessFieldException(new String[]{name}, ex));
+            }
+            handles = resolved;
+            return resolved;
+        }
+
+        private RuntimeException fail(RuntimeException ex) {
+            failure = ex;
+            Game.logThrowable("Unable to resolve field {0}#{1}", ex, owner.getName(), fieldIndex);
+            return ex;
+        }
+
+        private static Exception asException(Throwable ex) {
+            if (ex instanceof Exception)
+                return (Exception) ex;
+            if (ex instanceof Error)
+                throw (Error) ex;
+            return new RuntimeException(ex);
+        }
+    }
+
+    private static final class Handles {
+        private final String name;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        private Handles(String name, MethodHandle getter, MethodHandle setter) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+}
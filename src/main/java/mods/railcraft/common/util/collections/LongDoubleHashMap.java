@@ -0,0 +1,155 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) CovertJaguar, 2011-2016
+ http://railcraft.info
+
+ This code is the property of CovertJaguar
+ and may only be used with explicit written
+ permission unless otherwise specified on the
+ license page at http://railcraft.info/wiki/info:license.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.common.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from primitive longs to primitive doubles.
+ *
+ * Intended for data keyed by packed block positions (see {@link net.minecraft.util.math.BlockPos#toLong()}),
+ * where boxing every key and value would dominate the cost of the map.
+ *
+ * @author CovertJaguar <http://www.railcraft.info>
+ */
+public class LongDoubleHashMap {
+    private static final int MIN_CAPACITY = 8;
+    private long[] keys;
+    private double[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public LongDoubleHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongDoubleHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2)
+            capacity <<= 1;
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slot(long key) {
+        int i = hash(key) & mask;
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return used[slot(key)];
+    }
+
+    public double get(long key, double defaultValue) {
+        int i = slot(key);
+        return used[i] ? values[i] : defaultValue;
+    }
+
+    public void put(long key, double value) {
+        int i = slot(key);
+        if (!used[i]) {
+            if ((size + 1) * 2 > keys.length) {
+                rehash(keys.length << 1);
+                i = slot(key);
+            }
+            used[i] = true;
+            keys[i] = key;
+            size++;
+        }
+        values[i] = value;
+    }
+
+    /**
+     * Removes the key, shifting any following entries of the same probe run back
+     * so lookups never need tombstones.
+     *
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        int hole = slot(key);
+        if (!used[hole])
+            return false;
+        int next = hole;
+        while (true) {
+            next = (next + 1) & mask;
+            if (!used[next])
+                break;
+            int home = hash(keys[next]) & mask;
+            boolean reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (reachable)
+                continue;
+            keys[hole] = keys[next];
+            values[hole] = values[next];
+            hole = next;
+        }
+        used[hole] = false;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    public void forEach(EntryConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i])
+                action.accept(keys[i], values[i]);
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, double value);
+    }
+}
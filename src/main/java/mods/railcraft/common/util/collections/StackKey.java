@@ -50,6 +50,13 @@ public class StackKey {
         return hash;
     }
 
+    /**
+     * Whether the stack is of the item this key stands for, without copying either.
+     */
+    public boolean matches(ItemStack stack) {
+        return InvTools.isItemEqual(stack, this.stack);
+    }
+
     public ItemStack get() {
         return stack.copy();
     }
@@ -9,8 +9,11 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.util.crafting;
 
+import com.google.common.collect.Iterables;
 import mods.railcraft.api.crafting.IBlastFurnaceCraftingManager;
+import com.google.common.collect.Iterables;
 import mods.railcraft.api.crafting.IBlastFurnaceRecipe;
+import com.google.common.collect.Iterables;
 import mods.railcraft.api.crafting.RailcraftCraftingManager;
 import mods.railcraft.common.blocks.aesthetics.generic.EnumGeneric;
 import mods.railcraft.common.items.RailcraftItems;
@@ -26,7 +29,13 @@ import java.util.List;
 
 public class BlastFurnaceCraftingManager implements IBlastFurnaceCraftingManager {
 
-    private final List<BlastFurnaceRecipe> recipes = new ArrayList<BlastFurnaceRecipe>();
+    private final RecipeIndex.TrackedList<BlastFurnaceRecipe> recipes = new RecipeIndex.TrackedList<BlastFurnaceRecipe>();
+    /**
+     * Recipes that match on damage are tried before the rest, so a specific
+     * recipe wins over a wildcard one for the same Item.
+     */
+    private final RecipeIndex<BlastFurnaceRecipe> exactIndex = RecipeIndex.byItem(r -> r.input.getItem());
+    private final RecipeIndex<BlastFurnaceRecipe> index = RecipeIndex.byItem(r -> r.input.getItem());
     private List<ItemStack> fuels;
 
     public static IBlastFurnaceCraftingManager getInstance() {
@@ -118,19 +127,21 @@ public class BlastFurnaceCraftingManager implements IBlastFurnaceCraftingManager
             recipes.add(new BlastFurnaceRecipe(input, matchDamage, matchNBT, cookTime, output));
     }
 
+    // See RecipeIndex#rebuildIfStale
+    public void buildIndex() {
+        int version = recipes.getVersion();
+        exactIndex.rebuildIfStale(version, () -> Iterables.filter(recipes, r -> r.matchDamage && !InvTools.isWildcard(r.input)));
+        index.rebuildIfStale(version, () -> recipes);
+    }
+
     @Override
     public IBlastFurnaceRecipe getRecipe(ItemStack input) {
         if (input == null) return null;
-        for (BlastFurnaceRecipe r : recipes) {
-            if (!r.matchDamage || InvTools.isWildcard(r.input)) continue;
-            if (InvTools.isItemEqual(input, r.input, true, r.matchNBT))
-                return r;
-        }
-        for (BlastFurnaceRecipe r : recipes) {
-            if (InvTools.isItemEqual(input, r.input, r.matchDamage, r.matchNBT))
-                return r;
-        }
-        return null;
+        buildIndex();
+        BlastFurnaceRecipe recipe = exactIndex.find(input, (r, stack) -> InvTools.isItemEqual(stack, r.input, true, r.matchNBT));
+        if (recipe != null)
+            return recipe;
+        return index.find(input, (r, stack) -> InvTools.isItemEqual(stack, r.input, r.matchDamage, r.matchNBT));
     }
 
 }
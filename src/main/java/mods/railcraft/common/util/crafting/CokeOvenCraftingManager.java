@@ -8,19 +8,27 @@
  */
 package mods.railcraft.common.util.crafting;
 
+import com.google.common.collect.Iterables;
 import mods.railcraft.api.crafting.ICokeOvenCraftingManager;
+import com.google.common.collect.Iterables;
 import mods.railcraft.api.crafting.ICokeOvenRecipe;
+import com.google.common.collect.Iterables;
 import mods.railcraft.api.crafting.RailcraftCraftingManager;
 import mods.railcraft.common.util.inventory.InvTools;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class CokeOvenCraftingManager implements ICokeOvenCraftingManager {
 
-    private final List<CokeOvenRecipe> recipes = new ArrayList<CokeOvenRecipe>();
+    private final RecipeIndex.TrackedList<CokeOvenRecipe> recipes = new RecipeIndex.TrackedList<CokeOvenRecipe>();
+    /**
+     * Recipes that match on damage are tried before the rest, so a specific
+     * recipe wins over a wildcard one for the same Item.
+     */
+    private final RecipeIndex<CokeOvenRecipe> exactIndex = RecipeIndex.byItem(r -> r.input.getItem());
+    private final RecipeIndex<CokeOvenRecipe> index = RecipeIndex.byItem(r -> r.input.getItem());
 
     public static ICokeOvenCraftingManager getInstance() {
         return RailcraftCraftingManager.cokeOven;
@@ -84,18 +92,20 @@ public class CokeOvenCraftingManager implements ICokeOvenCraftingManager {
 //        Game.log(Level.DEBUG, "Adding Coke Oven recipe: {0}, {1}, {2}", input.getItem().getClass().getName(), input, input.getItemDamage());
     }
 
+    // See RecipeIndex#rebuildIfStale
+    public void buildIndex() {
+        int version = recipes.getVersion();
+        exactIndex.rebuildIfStale(version, () -> Iterables.filter(recipes, r -> r.matchDamage && !InvTools.isWildcard(r.input)));
+        index.rebuildIfStale(version, () -> recipes);
+    }
+
     @Override
     public ICokeOvenRecipe getRecipe(ItemStack input) {
         if (input == null) return null;
-        for (CokeOvenRecipe r : recipes) {
-            if (!r.matchDamage || InvTools.isWildcard(r.input)) continue;
-            if (InvTools.isItemEqual(input, r.input, true, r.matchNBT))
-                return r;
-        }
-        for (CokeOvenRecipe r : recipes) {
-            if (InvTools.isItemEqual(input, r.input, r.matchDamage, r.matchNBT))
-                return r;
-        }
-        return null;
+        buildIndex();
+        CokeOvenRecipe recipe = exactIndex.find(input, (r, stack) -> InvTools.isItemEqual(stack, r.input, true, r.matchNBT));
+        if (recipe != null)
+            return recipe;
+        return index.find(input, (r, stack) -> InvTools.isItemEqual(stack, r.input, r.matchDamage, r.matchNBT));
     }
 }
@@ -0,0 +1,177 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) CovertJaguar, 2011-2016
+ http://railcraft.info
+
+ This code is the property of CovertJaguar
+ and may only be used with explicit written
+ permission unless otherwise specified on the
+ license page at http://railcraft.info/wiki/info:license.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.common.util.crafting;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Buckets a list of recipes by the Items they take as input, so a lookup
+ * only has to test the recipes for one Item.
+ *
+ * Recipes whose input can't be pinned to a single Item, such as ore
+ * dictionary matchers added through the API, go into a fallback bucket that
+ * is tested alongside every lookup. Both buckets are walked in the order the
+ * recipes were indexed, so the first match is the same one a linear scan of
+ * the list would have found.
+ *
+ * Lookups run on both the client and server threads, so a rebuild never
+ * touches the buckets in use. It fills new ones and publishes them in one
+ * write, and each lookup works from whichever set it read first.
+ *
+ * @author CovertJaguar <http://www.railcraft.info>
+ */
+public final class RecipeIndex<R> {
+    private final Function<? super R, Collection<Item>> keyFunction;
+    private volatile Snapshot<R> snapshot = new Snapshot<R>(-1, Collections.<Item, List<Entry<R>>>emptyMap(), Collections.<Entry<R>>emptyList());
+
+    private RecipeIndex(Function<? super R, Collection<Item>> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * @param keyFunction returns the Item a recipe requires, or null if the recipe has to be tested against everything
+     */
+    public static <R> RecipeIndex<R> byItem(Function<? super R, Item> keyFunction) {
+        return new RecipeIndex<R>(recipe -> {
+            Item item = keyFunction.apply(recipe);
+            return item == null ? null : Collections.singleton(item);
+        });
+    }
+
+    /**
+     * For recipes with several inputs. A recipe is filed under every Item it
+     * could use, so looking it up by any one of the Items on hand finds it.
+     *
+     * @param keyFunction returns the distinct Items a recipe can use, or null if the recipe has to be tested against everything
+     */
+    public static <R> RecipeIndex<R> byItems(Function<? super R, Collection<Item>> keyFunction) {
+        return new RecipeIndex<R>(keyFunction);
+    }
+
+    /**
+     * Rebuilds the index if the recipes have changed since the version it was built from.
+     * Lookups should call this before using the index. It is also run once for every
+     * machine after postInit, so the index is ready before any machine needs it.
+     *
+     * @param version changes whenever recipes are added or removed
+     * @param recipes only asked for when a rebuild is needed
+     */
+    public void rebuildIfStale(int version, Supplier<? extends Iterable<? extends R>> recipes) {
+        if (snapshot.version != version)
+            rebuild(version, recipes.get());
+    }
+
+    private void rebuild(int version, Iterable<? extends R> recipes) {
+        Map<Item, List<Entry<R>>> buckets = new HashMap<Item, List<Entry<R>>>();
+        List<Entry<R>> fallback = new ArrayList<Entry<R>>();
+        int order = 0;
+        for (R recipe : recipes) {
+            Entry<R> entry = new Entry<R>(order++, recipe);
+            Collection<Item> items = keyFunction.apply(recipe);
+            if (items == null || items.isEmpty())
+                fallback.add(entry);
+            else
+                for (Item item : items) {
+                    buckets.computeIfAbsent(item, k -> new ArrayList<Entry<R>>()).add(entry);
+                }
+        }
+        snapshot = new Snapshot<R>(version, buckets, fallback);
+    }
+
+    /**
+     * The number of recipes filed under the Item, not counting the fallback bucket.
+     */
+    public int count(Item item) {
+        List<Entry<R>> bucket = snapshot.buckets.get(item);
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /**
+     * Returns the first recipe, in indexed order, that the matcher accepts for the input.
+     */
+    @Nullable
+    public R find(ItemStack input, BiPredicate<? super R, ItemStack> matcher) {
+        return find(input.getItem(), input, matcher);
+    }
+
+    /**
+     * Returns the first recipe, in indexed order, filed under the Item or in
+     * the fallback bucket that the matcher accepts.
+     *
+     * @param item    the Item to look under, or null to only test the fallback bucket
+     * @param context passed on to the matcher
+     */
+    @Nullable
+    public <C> R find(@Nullable Item item, C context, BiPredicate<? super R, C> matcher) {
+        Snapshot<R> snapshot = this.snapshot;
+        List<Entry<R>> fallback = snapshot.fallback;
+        List<Entry<R>> bucket = item == null ? null : snapshot.buckets.get(item);
+        if (bucket == null)
+            bucket = Collections.emptyList();
+        int i = 0;
+        int j = 0;
+        while (i < bucket.size() || j < fallback.size()) {
+            Entry<R> next;
+            if (j >= fallback.size() || (i < bucket.size() && bucket.get(i).order < fallback.get(j).order))
+                next = bucket.get(i++);
+            else
+                next = fallback.get(j++);
+            if (matcher.test(next.recipe, context))
+                return next.recipe;
+        }
+        return null;
+    }
+
+    private static final class Snapshot<R> {
+        private final int version;
+        private final Map<Item, List<Entry<R>>> buckets;
+        private final List<Entry<R>> fallback;
+
+        private Snapshot(int version, Map<Item, List<Entry<R>>> buckets, List<Entry<R>> fallback) {
+            this.version = version;
+            this.buckets = buckets;
+            this.fallback = fallback;
+        }
+    }
+
+    private static final class Entry<R> {
+        private final int order;
+        private final R recipe;
+
+        private Entry(int order, R recipe) {
+            this.order = order;
+            this.recipe = recipe;
+        }
+    }
+
+    /**
+     * A recipe list that exposes its modification count, so an index built from
+     * it can tell when recipes have been added or removed, even by code that
+     * edits the list returned from the API directly.
+     */
+    public static class TrackedList<R> extends ArrayList<R> {
+        public int getVersion() {
+            return modCount;
+        }
+
+        @Override
+        public R set(int index, R element) {
+            modCount++;
+            return super.set(index, element);
+        }
+    }
+}
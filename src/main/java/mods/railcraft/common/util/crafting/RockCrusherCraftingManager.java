@@ -11,6 +11,7 @@ package mods.railcraft.common.util.crafting;
 
 import com.google.common.collect.ForwardingCollection;
 import com.google.common.collect.ForwardingIterator;
+import com.google.common.collect.Iterables;
 import mods.railcraft.api.crafting.ICrusherCraftingManager;
 import mods.railcraft.api.crafting.RailcraftCraftingManager;
 import mods.railcraft.common.util.inventory.InvTools;
@@ -29,6 +30,10 @@ import java.util.*;
 public class RockCrusherCraftingManager implements ICrusherCraftingManager {
 
     private static final RecipeList recipes = new RecipeList();
+    private static final RecipeIndex<ICrusherRecipe> index = RecipeIndex.byItem(r -> {
+        IInputMatcher matcher = r.getInputMatcher();
+        return matcher instanceof InputMatcher ? ((InputMatcher) matcher).input.getItem() : null;
+    });
     public static final ICrusherRecipe NULL_RECIPE = new CrusherRecipe(new IInputMatcher() {
         @Override
         public ItemStack getDisplayStack() {
@@ -96,22 +101,16 @@ public class RockCrusherCraftingManager implements ICrusherCraftingManager {
         return recipe;
     }
 
+    // See RecipeIndex#rebuildIfStale
+    public void buildIndex() {
+        index.rebuildIfStale(recipes.version, () -> Iterables.concat(recipes.high(), recipes.medium(), recipes.low()));
+    }
+
     @Override
     public ICrusherRecipe getRecipe(ItemStack input) {
         if (input == null) return null;
-        for (ICrusherRecipe r : recipes.high()) {
-            if (r.getInputMatcher().apply(input))
-                return r;
-        }
-        for (ICrusherRecipe r : recipes.medium()) {
-            if (r.getInputMatcher().apply(input))
-                return r;
-        }
-        for (ICrusherRecipe r : recipes.low()) {
-            if (r.getInputMatcher().apply(input))
-                return r;
-        }
-        return null;
+        buildIndex();
+        return index.find(input, (r, stack) -> r.getInputMatcher().apply(stack));
     }
 
     private static class InputMatcher implements IInputMatcher {
@@ -302,6 +301,7 @@ public class RockCrusherCraftingManager implements ICrusherCraftingManager {
         private final List<ICrusherRecipe> recipesHigh = new ArrayList<ICrusherRecipe>();
         private final List<ICrusherRecipe> recipesMedium = new ArrayList<ICrusherRecipe>();
         private final List<ICrusherRecipe> recipesLow = new ArrayList<ICrusherRecipe>();
+        private int version;
 
         @Override
         protected Collection<ICrusherRecipe> delegate() {
@@ -328,6 +328,7 @@ public class RockCrusherCraftingManager implements ICrusherCraftingManager {
                 @Override
                 public void remove() {
                     super.remove();
+                    version++;
                     recipesHigh.remove(current);
                     recipesMedium.remove(current);
                     recipesLow.remove(current);
@@ -350,6 +351,7 @@ public class RockCrusherCraftingManager implements ICrusherCraftingManager {
         @Override
         public boolean add(@Nonnull ICrusherRecipe recipe) {
             boolean added = recipes.add(recipe);
+            version++;
             if (added)
                 switch (recipe.getInputMatcher().getPriority()) {
                     case HIGH:
@@ -364,6 +366,7 @@ public class RockCrusherCraftingManager implements ICrusherCraftingManager {
 
         @Override
         public boolean remove(@Nonnull Object recipe) {
+            version++;
             recipesHigh.remove(recipe);
             recipesMedium.remove(recipe);
             recipesLow.remove(recipe);
@@ -387,6 +390,7 @@ public class RockCrusherCraftingManager implements ICrusherCraftingManager {
 
         @Override
         public void clear() {
+            version++;
             recipes.clear();
             recipesHigh.clear();
             recipesMedium.clear();
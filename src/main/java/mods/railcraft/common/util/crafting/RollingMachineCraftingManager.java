@@ -13,21 +13,24 @@ import mods.railcraft.api.crafting.RailcraftCraftingManager;
 import mods.railcraft.common.plugins.forge.CraftingPlugin;
 import mods.railcraft.common.util.misc.Game;
 import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.ShapedRecipes;
+import net.minecraft.item.crafting.ShapelessRecipes;
 import net.minecraft.world.World;
 import net.minecraftforge.oredict.ShapedOreRecipe;
 import net.minecraftforge.oredict.ShapelessOreRecipe;
 import org.apache.logging.log4j.Level;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 public class RollingMachineCraftingManager implements IRollingMachineCraftingManager {
 
-    private final List<IRecipe> recipes = new ArrayList<IRecipe>();
+    private final RecipeIndex.TrackedList<IRecipe> recipes = new RecipeIndex.TrackedList<IRecipe>();
+    private final RecipeIndex<IRecipe> index = RecipeIndex.byItems(RollingMachineCraftingManager::getIngredientItems);
 
     public static IRollingMachineCraftingManager instance() {
         return RailcraftCraftingManager.rollingMachine;
@@ -73,14 +76,63 @@ public class RollingMachineCraftingManager implements IRollingMachineCraftingMan
             addRecipe(CraftingPlugin.makeVanillaShapelessRecipe(processedRecipe.result, processedRecipe.recipeArray));
     }
 
+    /**
+     * Every Item the recipe could take, or null if the recipe has to be tested against everything.
+     *
+     * Recipes that take an ore dictionary entry go to the fallback bucket. Their Items
+     * can't be fixed when the index is built, as mods may still add to the entry later.
+     */
+    @Nullable
+    private static Set<Item> getIngredientItems(IRecipe recipe) {
+        Collection<?> ingredients;
+        if (recipe instanceof ShapedRecipes)
+            ingredients = Arrays.asList(((ShapedRecipes) recipe).recipeItems);
+        else if (recipe instanceof ShapelessRecipes)
+            ingredients = ((ShapelessRecipes) recipe).recipeItems;
+        else if (recipe instanceof ShapedOreRecipe)
+            ingredients = Arrays.asList(((ShapedOreRecipe) recipe).getInput());
+        else if (recipe instanceof ShapelessOreRecipe)
+            ingredients = ((ShapelessOreRecipe) recipe).getInput();
+        else
+            return null;
+        Set<Item> items = new HashSet<Item>();
+        for (Object ingredient : ingredients) {
+            if (ingredient instanceof ItemStack) {
+                Item item = ((ItemStack) ingredient).getItem();
+                if (item != null)
+                    items.add(item);
+            } else if (ingredient != null)
+                return null;
+        }
+        return items;
+    }
+
+    // See RecipeIndex#rebuildIfStale
+    public void buildIndex() {
+        index.rebuildIfStale(recipes.getVersion(), () -> recipes);
+    }
+
+    /**
+     * Only the recipes that can use one of the Items in the grid are tested.
+     * Of the distinct Items in the grid, the one with the fewest recipes is looked up.
+     */
     @Override
     public ItemStack findMatchingRecipe(InventoryCrafting inv, World world) {
-        for (IRecipe irecipe : recipes) {
-            if (irecipe.matches(inv, world)) {
-                return irecipe.getCraftingResult(inv);
+        buildIndex();
+        Item key = null;
+        int keyCount = Integer.MAX_VALUE;
+        for (int slot = 0; slot < inv.getSizeInventory(); slot++) {
+            ItemStack stack = inv.getStackInSlot(slot);
+            if (stack == null || stack.getItem() == null || stack.getItem() == key)
+                continue;
+            int count = index.count(stack.getItem());
+            if (count < keyCount) {
+                key = stack.getItem();
+                keyCount = count;
             }
         }
-        return null;
+        IRecipe recipe = index.find(key, inv, (r, grid) -> r.matches(grid, world));
+        return recipe == null ? null : recipe.getCraftingResult(inv);
     }
 
     @Override
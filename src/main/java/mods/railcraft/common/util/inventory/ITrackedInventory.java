@@ -0,0 +1,26 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) CovertJaguar, 2011-2016
+ http://railcraft.info
+
+ This code is the property of CovertJaguar
+ and may only be used with explicit written
+ permission unless otherwise specified on the
+ license page at http://railcraft.info/wiki/info:license.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.common.util.inventory;
+
+/**
+ * An inventory that counts changes to its contents.
+ *
+ * Lets an {@link InventoryManifest} skip rescanning the inventory when nothing has changed.
+ *
+ * @author CovertJaguar <http://www.railcraft.info>
+ */
+public interface ITrackedInventory {
+
+    /**
+     * Must change whenever the contents of any slot change, including changes made
+     * through {@link net.minecraft.inventory.IInventory#markDirty()}.
+     */
+    int getChangeCount();
+}
@@ -526,6 +526,9 @@ public abstract class InvTools {
     /**
      * Returns a map backed by an <code>ItemStackMap</code> that lists the total
      * number of each type of item in the inventory.
+     * <p/>
+     * For inventories that are checked every tick, {@link InventoryManifest}
+     * avoids rebuilding the map on each call.
      *
      * @param invs the inventories to generate the manifest for
      * @return A <code>Map</code> that lists how many of each item is in the inventories
@@ -649,6 +652,41 @@ public abstract class InvTools {
         return null;
     }
 
+    /**
+     * Attempts to move up to maxAmount items from one inventory to another,
+     * taking as much of each stack as the destination has room for.
+     *
+     * @param source    the source inventory
+     * @param dest      the destination inventory
+     * @param filter    an Predicate<ItemStack> to match against
+     * @param maxAmount the most items to move
+     * @return the number of items moved
+     */
+    public static int moveItems(IInventoryObject source, IInventoryObject dest, Predicate<ItemStack> filter, int maxAmount) {
+        return InventoryManipulator.get(source).moveItems(dest, filter, maxAmount);
+    }
+
+    /**
+     * Attempts to move up to maxAmount items between collections of inventories.
+     *
+     * @param sources      the source inventories
+     * @param destinations the destination inventories
+     * @param filter       an Predicate<ItemStack> to match against
+     * @param maxAmount    the most items to move
+     * @return the number of items moved
+     */
+    public static int moveItems(Collection<IInventoryObject> sources, Collection<IInventoryObject> destinations, Predicate<ItemStack> filter, int maxAmount) {
+        int moved = 0;
+        for (IInventoryObject source : sources) {
+            for (IInventoryObject dest : destinations) {
+                if (moved >= maxAmount)
+                    return moved;
+                moved += moveItems(source, dest, filter, maxAmount - moved);
+            }
+        }
+        return moved;
+    }
+
     /**
      * Attempts to move a single item from one inventory to another.
      * <p/>
@@ -0,0 +1,166 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) CovertJaguar, 2011-2016
+ http://railcraft.info
+
+ This code is the property of CovertJaguar
+ and may only be used with explicit written
+ permission unless otherwise specified on the
+ license page at http://railcraft.info/wiki/info:license.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.common.util.inventory;
+
+import mods.railcraft.common.util.collections.CollectionTools;
+import mods.railcraft.common.util.collections.StackKey;
+import mods.railcraft.common.util.inventory.iterators.IInvSlot;
+import mods.railcraft.common.util.inventory.iterators.InventoryIterator;
+import mods.railcraft.common.util.inventory.wrappers.IInventoryObject;
+import mods.railcraft.common.util.inventory.wrappers.InvWrapperBase;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A manifest of a set of inventories that is kept up to date between calls,
+ * instead of being rebuilt from scratch like {@link InvTools#createManifest(List)}.
+ *
+ * Each slot's last known contents are remembered, so an update only touches
+ * the entries of slots that actually changed. Inventories that implement
+ * {@link ITrackedInventory} are skipped entirely while their change count
+ * stays the same, everything else is compared slot by slot.
+ *
+ * @author CovertJaguar <http://www.railcraft.info>
+ */
+public final class InventoryManifest {
+    private final IInventoryObject[] inventories;
+    private final ITrackedInventory[] trackers;
+    private final int[] changeCounts;
+    private final StackKey[][] slotKeys;
+    private final int[][] slotSizes;
+    private final Map<StackKey, Integer> manifest = CollectionTools.createItemStackMap();
+    private final Map<StackKey, Integer> view = Collections.unmodifiableMap(manifest);
+
+    private InventoryManifest(List<IInventoryObject> invs) {
+        inventories = invs.toArray(new IInventoryObject[invs.size()]);
+        trackers = new ITrackedInventory[inventories.length];
+        changeCounts = new int[inventories.length];
+        slotKeys = new StackKey[inventories.length][];
+        slotSizes = new int[inventories.length][];
+        for (int i = 0; i < inventories.length; i++) {
+            trackers[i] = getTracker(inventories[i]);
+            slotKeys[i] = new StackKey[inventories[i].getNumSlots()];
+            slotSizes[i] = new int[inventories[i].getNumSlots()];
+            scan(i);
+        }
+    }
+
+    /**
+     * Brings the manifest up to date, creating a new one if the inventories are
+     * not the ones the old manifest was made for.
+     *
+     * @param manifest the manifest from the last call, may be null
+     * @param invs     the inventories to list
+     * @return an up to date manifest of the inventories
+     */
+    public static InventoryManifest update(@Nullable InventoryManifest manifest, List<IInventoryObject> invs) {
+        if (manifest == null || !manifest.isFor(invs))
+            return new InventoryManifest(invs);
+        manifest.update();
+        return manifest;
+    }
+
+    @Nullable
+    private static ITrackedInventory getTracker(IInventoryObject inv) {
+        Object obj = inv.getInventoryObject();
+        while (obj instanceof InvWrapperBase) {
+            obj = ((InvWrapperBase) obj).getBaseInventory();
+        }
+        return obj instanceof ITrackedInventory ? (ITrackedInventory) obj : null;
+    }
+
+    private boolean isFor(List<IInventoryObject> invs) {
+        if (invs.size() != inventories.length)
+            return false;
+        int i = 0;
+        for (IInventoryObject inv : invs) {
+            if (inv != inventories[i] || inv.getNumSlots() != slotKeys[i].length)
+                return false;
+            i++;
+        }
+        return true;
+    }
+
+    private void update() {
+        for (int i = 0; i < inventories.length; i++) {
+            if (trackers[i] == null || trackers[i].getChangeCount() != changeCounts[i])
+                scan(i);
+        }
+    }
+
+    private void scan(int invIndex) {
+        if (trackers[invIndex] != null)
+            changeCounts[invIndex] = trackers[invIndex].getChangeCount();
+        StackKey[] keys = slotKeys[invIndex];
+        int[] sizes = slotSizes[invIndex];
+        int slotIndex = 0;
+        for (IInvSlot slot : InventoryIterator.getRailcraft(inventories[invIndex])) {
+            if (slotIndex >= keys.length)
+                break;
+            ItemStack stack = slot.getStack();
+            int size = stack == null ? 0 : Math.max(stack.stackSize, 0);
+            StackKey key = keys[slotIndex];
+            if (size == 0) {
+                if (key != null) {
+                    adjust(key, -sizes[slotIndex]);
+                    keys[slotIndex] = null;
+                    sizes[slotIndex] = 0;
+                }
+            } else if (key != null && key.matches(stack)) {
+                if (size != sizes[slotIndex]) {
+                    adjust(key, size - sizes[slotIndex]);
+                    sizes[slotIndex] = size;
+                }
+            } else {
+                if (key != null)
+                    adjust(key, -sizes[slotIndex]);
+                key = StackKey.make(stack);
+                adjust(key, size);
+                keys[slotIndex] = key;
+                sizes[slotIndex] = size;
+            }
+            slotIndex++;
+        }
+    }
+
+    private void adjust(StackKey key, int amount) {
+        int count = manifest.getOrDefault(key, 0) + amount;
+        if (count > 0)
+            manifest.put(key, count);
+        else
+            manifest.remove(key);
+    }
+
+    /**
+     * A read only view of the manifest. It is the same map on every call and
+     * changes along with the manifest.
+     */
+    public Map<StackKey, Integer> get() {
+        return view;
+    }
+
+    public int count(StackKey key) {
+        return manifest.getOrDefault(key, 0);
+    }
+
+    public boolean isEmpty() {
+        return manifest.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryManifest{" + Arrays.toString(inventories) + " = " + manifest + "}";
+    }
+}
@@ -34,13 +34,14 @@ import java.util.stream.Stream;
  *
  * @author CovertJaguar <http://www.railcraft.info>
  */
-public class StandaloneInventory implements IInventory, Iterable<ItemStack>, IInventoryObject {
+public class StandaloneInventory implements IInventory, Iterable<ItemStack>, IInventoryObject, ITrackedInventory {
 
     @Nullable
     private final String name;
     @Nullable
     private final Callback callback;
     private final ItemStack[] contents;
+    private int changeCount;
 
     public StandaloneInventory(int size, @Nullable String name, @Nullable IInventory callback) {
         this.name = name;
@@ -173,6 +174,7 @@ public class StandaloneInventory implements IInventory, Iterable<ItemStack>, IIn
 
     @Override
     public void markDirty() {
+        changeCount++;
         if (callback != null) {
             callback.markDirty();
         }
@@ -197,6 +199,11 @@ public class StandaloneInventory implements IInventory, Iterable<ItemStack>, IIn
         }
     }
 
+    @Override
+    public int getChangeCount() {
+        return changeCount;
+    }
+
     public ItemStack[] getContents() {
         return contents;
     }
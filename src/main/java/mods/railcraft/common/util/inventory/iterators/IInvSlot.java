@@ -26,6 +26,14 @@ public interface IInvSlot {
 
     ItemStack decreaseStack();
 
+    /**
+     * Removes up to the given number of items from the slot.
+     *
+     * @return the items removed, may be fewer than requested
+     */
+    @Nullable
+    ItemStack decreaseStack(int amount);
+
     /**
      * It is not legal to edit the stack returned from this function.
      */
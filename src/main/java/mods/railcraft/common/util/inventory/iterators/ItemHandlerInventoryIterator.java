@@ -79,6 +79,11 @@ public class ItemHandlerInventoryIterator extends InventoryIterator<IInvSlot> {
             return inv.extractItem(slot, 1, false);
         }
 
+        @Override
+        public ItemStack decreaseStack(int amount) {
+            return inv.extractItem(slot, amount, false);
+        }
+
         @Override
         @Nullable
         public ItemStack getStack() {
@@ -84,6 +84,11 @@ public class StandardInventoryIterator extends InventoryIterator<IExtInvSlot> {
             return inv.decrStackSize(slot, 1);
         }
 
+        @Override
+        public ItemStack decreaseStack(int amount) {
+            return inv.decrStackSize(slot, amount);
+        }
+
         @Override
         public int getIndex() {
             return slot;
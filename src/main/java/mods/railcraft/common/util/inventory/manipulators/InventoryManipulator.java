@@ -140,4 +140,32 @@ public abstract class InventoryManipulator<T extends IInvSlot> implements Iterab
         return null;
     }
 
+    /**
+     * Moves up to maxAmount items matching the filter, a stack at a time.
+     * As with {@link #moveItem}, the items are added to the destination first
+     * and only as many as it accepted are then taken from the slot.
+     *
+     * @return the number of items moved
+     */
+    public int moveItems(IInventoryObject dest, Predicate<ItemStack> filter, int maxAmount) {
+        InventoryManipulator imDest = InventoryManipulator.get(dest);
+        int moved = 0;
+        for (IInvSlot slot : this) {
+            if (moved >= maxAmount)
+                break;
+            ItemStack stack = slot.getStack();
+            if (stack != null && stack.stackSize > 0 && slot.canTakeStackFromSlot(stack) && filter.test(stack)) {
+                stack = stack.copy();
+                stack.stackSize = Math.min(stack.stackSize, maxAmount - moved);
+                ItemStack remainder = imDest.addStack(stack);
+                int accepted = stack.stackSize - (remainder == null ? 0 : remainder.stackSize);
+                if (accepted <= 0)
+                    continue;
+                slot.decreaseStack(accepted);
+                moved += accepted;
+            }
+        }
+        return moved;
+    }
+
 }
@@ -9,13 +9,9 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.util.network;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufOutputStream;
-import io.netty.buffer.Unpooled;
 import mods.railcraft.api.signals.AbstractPair;
 import mods.railcraft.api.signals.ISignalPacketBuilder;
 import mods.railcraft.common.gui.widgets.Widget;
-import mods.railcraft.common.util.misc.Game;
 import mods.railcraft.common.util.network.PacketKeyPress.EnumKeyBinding;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.inventory.IContainerListener;
@@ -26,7 +22,6 @@ import net.minecraft.world.WorldServer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.io.IOException;
 
 /**
  * @author CovertJaguar <http://www.railcraft.info>
@@ -112,16 +107,8 @@ public class PacketBuilder implements ISignalPacketBuilder {
 
     public void sendGuiWidgetPacket(IContainerListener listener, int windowId, Widget widget) {
         if (listener instanceof EntityPlayerMP && widget.hasServerSyncData(listener)) {
-            ByteBuf byteBuf = Unpooled.buffer();
-            try (ByteBufOutputStream out = new ByteBufOutputStream(byteBuf);
-                 RailcraftOutputStream data = new RailcraftOutputStream(out)) {
-                widget.writeServerSyncData(listener, data);
-                PacketGuiWidget pkt = new PacketGuiWidget(windowId, widget, byteBuf.array());
-                PacketDispatcher.sendToPlayer(pkt, (EntityPlayerMP) listener);
-            } catch (IOException ex) {
-                if (Game.DEVELOPMENT_ENVIRONMENT)
-                    throw new RuntimeException(ex);
-            }
+            PacketGuiWidget pkt = new PacketGuiWidget(windowId, widget, listener);
+            PacketDispatcher.sendToPlayer(pkt, (EntityPlayerMP) listener);
         }
     }
 
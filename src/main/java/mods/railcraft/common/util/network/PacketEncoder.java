@@ -0,0 +1,92 @@
+/*------------------------------------------------------------------------------
+ Copyright (c) CovertJaguar, 2011-2016
+ http://railcraft.info
+
+ This code is the property of CovertJaguar
+ and may only be used with explicit written
+ permission unless otherwise specified on the
+ license page at http://railcraft.info/wiki/info:license.
+ -----------------------------------------------------------------------------*/
+package mods.railcraft.common.util.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * A reusable scratch buffer and {@link RailcraftOutputStream} for building packet payloads.
+ * Use it in a try-with-resources block and copy the payload out before it closes.
+ *
+ * Each thread keeps one encoder that is reset and written into for every packet,
+ * so the only allocation per packet is the final, exactly sized payload.
+ * The payload can't come from a pool itself, because once it is handed to the
+ * network layer nothing releases it, and on an integrated server the client
+ * reads that same buffer later on its own thread.
+ *
+ * @author CovertJaguar <http://www.railcraft.info>
+ */
+public final class PacketEncoder implements AutoCloseable {
+    /**
+     * Scratch space above this size is dropped after use rather than kept around for the next packet.
+     */
+    private static final int MAX_RETAINED_SIZE = 1 << 16;
+    private static final ThreadLocal<PacketEncoder> encoders = ThreadLocal.withInitial(PacketEncoder::new);
+    private final Scratch scratch = new Scratch();
+    private final RailcraftOutputStream data = new RailcraftOutputStream(scratch);
+    private boolean inUse;
+
+    private PacketEncoder() {
+    }
+
+    /**
+     * Returns this thread's encoder, emptied, or a fresh one if it is already in use further up the stack.
+     */
+    public static PacketEncoder open() {
+        PacketEncoder encoder = encoders.get();
+        if (encoder.inUse)
+            encoder = new PacketEncoder();
+        encoder.inUse = true;
+        encoder.scratch.reset();
+        return encoder;
+    }
+
+    public RailcraftOutputStream data() {
+        return data;
+    }
+
+    /**
+     * Throws away anything written so far and leaves just an invalid packet ID,
+     * which the receiving end ignores.
+     */
+    void discard() {
+        scratch.reset();
+        scratch.write(-1);
+    }
+
+    public byte[] toByteArray() {
+        return scratch.toByteArray();
+    }
+
+    public ByteBuf toByteBuf() {
+        return Unpooled.wrappedBuffer(scratch.toByteArray());
+    }
+
+    @Override
+    public void close() {
+        scratch.trim();
+        inUse = false;
+    }
+
+    private static final class Scratch extends ByteArrayOutputStream {
+        private Scratch() {
+            super(256);
+        }
+
+        private void trim() {
+            if (buf.length > MAX_RETAINED_SIZE)
+                buf = new byte[256];
+            count = 0;
+        }
+    }
+}
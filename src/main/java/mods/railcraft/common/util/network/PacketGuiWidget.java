@@ -11,6 +11,7 @@ package mods.railcraft.common.util.network;
 import mods.railcraft.common.gui.containers.RailcraftContainer;
 import mods.railcraft.common.gui.widgets.Widget;
 import net.minecraft.client.entity.EntityPlayerSP;
+import net.minecraft.inventory.IContainerListener;
 import net.minecraftforge.fml.client.FMLClientHandler;
 
 import java.io.IOException;
@@ -19,22 +20,22 @@ public class PacketGuiWidget extends RailcraftPacket {
 
     private byte windowId;
     private Widget widget;
-    private byte[] payload;
+    private IContainerListener listener;
 
     public PacketGuiWidget() {
     }
 
-    public PacketGuiWidget(int windowId, Widget widget, byte[] data) {
+    public PacketGuiWidget(int windowId, Widget widget, IContainerListener listener) {
         this.windowId = (byte) windowId;
         this.widget = widget;
-        this.payload = data;
+        this.listener = listener;
     }
 
     @Override
     public void writeData(RailcraftOutputStream data) throws IOException {
         data.writeByte(windowId);
         data.writeByte(widget.getId());
-        data.write(payload);
+        widget.writeServerSyncData(listener, data);
     }
 
     @Override
@@ -9,9 +9,6 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.util.network;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufOutputStream;
-import io.netty.buffer.Unpooled;
 import mods.railcraft.common.util.misc.Game;
 import net.minecraft.network.PacketBuffer;
 import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
@@ -41,21 +38,24 @@ public abstract class RailcraftPacket {
         GOLDEN_TICKET_GUI,
     }
 
+    /**
+     * Encodes the packet. The result can be sent to any number of players,
+     * so build it once and reuse it rather than calling this per recipient.
+     */
     public FMLProxyPacket getPacket() {
-        ByteBuf byteBuf = Unpooled.buffer();
-        try (ByteBufOutputStream out = new ByteBufOutputStream(byteBuf);
-             RailcraftOutputStream data = new RailcraftOutputStream(out)) {
-            data.writeByte(getID());
-            writeData(data);
-            return new FMLProxyPacket(new PacketBuffer(byteBuf), CHANNEL_NAME);
-        } catch (IOException e) {
-            Game.logThrowable("Error constructing packet: {0}", e, getClass());
-            if (Game.DEVELOPMENT_ENVIRONMENT)
-                throw new RuntimeException(e);
+        try (PacketEncoder encoder = PacketEncoder.open()) {
+            try {
+                RailcraftOutputStream data = encoder.data();
+                data.writeByte(getID());
+                writeData(data);
+            } catch (IOException e) {
+                Game.logThrowable("Error constructing packet: {0}", e, getClass());
+                if (Game.DEVELOPMENT_ENVIRONMENT)
+                    throw new RuntimeException(e);
+                encoder.discard();
+            }
+            return new FMLProxyPacket(new PacketBuffer(encoder.toByteBuf()), CHANNEL_NAME);
         }
-        PacketBuffer buffer = new PacketBuffer(byteBuf);
-        buffer.writeByte(-1);
-        return new FMLProxyPacket(buffer, CHANNEL_NAME);
     }
 
     public abstract void writeData(RailcraftOutputStream data) throws IOException;
@@ -9,6 +9,11 @@
  -----------------------------------------------------------------------------*/
 package mods.railcraft.common.util.routing;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.MapMaker;
 import mods.railcraft.api.carts.CartToolsAPI;
 import mods.railcraft.api.carts.IPaintedCart;
 import mods.railcraft.api.carts.IRoutableCart;
@@ -21,15 +26,14 @@ import mods.railcraft.common.plugins.color.EnumColor;
 import mods.railcraft.common.plugins.forge.LocalizationPlugin;
 import net.minecraft.entity.item.EntityMinecart;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.EnumDyeColor;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.text.TextFormatting;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.annotation.Nullable;
-import java.util.Deque;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.NoSuchElementException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -41,10 +45,22 @@ import static mods.railcraft.common.plugins.forge.PowerPlugin.NO_POWER;
  */
 public class RoutingLogic {
 
-    private static final String REGEX_SYMBOL = "\\?";
+    private static final String REGEX_SYMBOL = "?";
+    /**
+     * Copies of the same routing table share one parsed logic, including any
+     * parse error. Entries go away once no router holds on to them.
+     */
+    private static final Cache<List<String>, RoutingLogic> logicCache = CacheBuilder.newBuilder().weakValues().recordStats().build();
 
-    private Deque<Expression> expressions;
+    private Expression[] expressions;
     private RoutingLogicException error;
+    /**
+     * True if every condition in the table depends only on the cart's identity
+     * and the attributes recorded in {@link CartAttributes}, so a result can be
+     * reused until one of those changes.
+     */
+    private boolean cacheable = true;
+    private final Map<EntityMinecart, CartAttributes> resultCache = new MapMaker().weakKeys().makeMap();
 
     private RoutingLogic(@Nullable Deque<String> data) {
         try {
@@ -58,7 +74,22 @@ public class RoutingLogic {
     }
 
     public static RoutingLogic buildLogic(@Nullable Deque<String> data) {
-        return new RoutingLogic(data);
+        if (data == null)
+            return new RoutingLogic(null);
+        List<String> key = ImmutableList.copyOf(data);
+        try {
+            return logicCache.get(key, () -> new RoutingLogic(new LinkedList<>(key)));
+        } catch (ExecutionException ex) {
+            return new RoutingLogic(data);
+        }
+    }
+
+    public static CacheStats getCacheStats() {
+        return logicCache.stats();
+    }
+
+    public static long getCacheSize() {
+        return logicCache.size();
     }
 
     public RoutingLogicException getError() {
@@ -76,7 +107,7 @@ public class RoutingLogic {
             String line = it.next().trim();
             stack.push(parseLine(line, stack));
         }
-        expressions = stack;
+        expressions = stack.toArray(new Expression[stack.size()]);
     }
 
     private EntityMinecart getRoutableCart(EntityMinecart cart) {
@@ -106,8 +137,20 @@ public class RoutingLogic {
         EntityMinecart controllingCart = getRoutableCart(cart);
         if (controllingCart == null)
             return NO_POWER;
+        if (!cacheable)
+            return evaluateExpressions(tile, controllingCart);
+        CartAttributes attributes = new CartAttributes(controllingCart);
+        CartAttributes cached = resultCache.get(controllingCart);
+        if (cached != null && cached.equals(attributes))
+            return cached.result;
+        attributes.result = evaluateExpressions(tile, controllingCart);
+        resultCache.put(controllingCart, attributes);
+        return attributes.result;
+    }
+
+    private int evaluateExpressions(IRoutingTile tile, EntityMinecart cart) {
         for (Expression expression : expressions) {
-            int value = expression.evaluate(tile, controllingCart);
+            int value = expression.evaluate(tile, cart);
             if (value != NO_POWER)
                 return value;
         }
@@ -126,14 +169,22 @@ public class RoutingLogic {
                 return new NameCondition(line);
             if (line.startsWith("Type"))
                 return new TypeCondition(line);
-            if (line.startsWith("NeedsRefuel"))
+            if (line.startsWith("NeedsRefuel")) {
+                cacheable = false;
                 return new RefuelCondition(line);
-            if (line.startsWith("Ridden"))
+            }
+            if (line.startsWith("Ridden")) {
+                cacheable = false;
                 return new RiddenCondition(line);
-            if (line.startsWith("Riding"))
+            }
+            if (line.startsWith("Riding")) {
+                cacheable = false;
                 return new RidingCondition(line);
-            if (line.startsWith("Redstone"))
+            }
+            if (line.startsWith("Redstone")) {
+                cacheable = false;
                 return new RedstoneCondition(line);
+            }
             if (line.startsWith("Loco"))
                 return new LocoCondition(line);
         } catch (RoutingLogicException ex) {
@@ -185,6 +236,51 @@ public class RoutingLogic {
 
     }
 
+    /**
+     * The cart attributes a cacheable table can depend on, along with the
+     * result they last produced.
+     */
+    private static final class CartAttributes {
+        private final String destination;
+        private final String owner;
+        private final String name;
+        private final EnumDyeColor primaryColor;
+        private final EnumDyeColor secondaryColor;
+        private int result;
+
+        CartAttributes(EntityMinecart cart) {
+            destination = cart instanceof IRoutableCart ? ((IRoutableCart) cart).getDestination() : null;
+            owner = CartToolsAPI.getCartOwner(cart).getName();
+            name = cart.hasCustomName() ? cart.getName() : null;
+            if (cart instanceof IPaintedCart) {
+                primaryColor = ((IPaintedCart) cart).getPrimaryColor();
+                secondaryColor = ((IPaintedCart) cart).getSecondaryColor();
+            } else {
+                primaryColor = null;
+                secondaryColor = null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof CartAttributes))
+                return false;
+            CartAttributes other = (CartAttributes) obj;
+            return Objects.equals(destination, other.destination)
+                    && Objects.equals(owner, other.owner)
+                    && Objects.equals(name, other.name)
+                    && primaryColor == other.primaryColor
+                    && secondaryColor == other.secondaryColor;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(destination, owner, name, primaryColor, secondaryColor);
+        }
+    }
+
     private abstract class Expression {
 
         public abstract int evaluate(IRoutingTile tile, EntityMinecart cart);
@@ -206,22 +302,28 @@ public class RoutingLogic {
 
         public final String value;
         final boolean isRegex;
+        @Nullable
+        final Pattern pattern;
 
         private ParsedCondition(String keyword, boolean supportsRegex, String line) throws RoutingLogicException {
-            String keywordMatch = keyword + REGEX_SYMBOL + "?=";
-            if (!line.matches(keywordMatch + ".*"))
+            this.isRegex = line.startsWith(keyword + REGEX_SYMBOL + "=");
+            if (!isRegex && !line.startsWith(keyword + "="))
                 throw new RoutingLogicException("gui.railcraft.routing.logic.unrecognized.keyword", line);
-            this.isRegex = line.matches(keyword + REGEX_SYMBOL + "=.*");
             if (!supportsRegex && isRegex)
                 throw new RoutingLogicException("gui.railcraft.routing.logic.regex.unsupported", line);
-            this.value = line.replaceFirst(keywordMatch, "");
+            this.value = line.substring(keyword.length() + (isRegex ? 2 : 1));
             if (isRegex)
                 try {
-                    //noinspection ResultOfMethodCallIgnored
-                    Pattern.compile(value);
+                    pattern = Pattern.compile(value);
                 } catch (PatternSyntaxException ex) {
                     throw new RoutingLogicException("gui.railcraft.routing.logic.regex.invalid", line);
                 }
+            else
+                pattern = null;
+        }
+
+        boolean patternMatches(String input) {
+            return pattern != null && pattern.matcher(input).matches();
         }
 
         @Override
@@ -341,7 +443,7 @@ public class RoutingLogic {
                 if (StringUtils.isBlank(cartDest))
                     return false;
                 if (isRegex)
-                    return cartDest.matches(value);
+                    return patternMatches(cartDest);
                 return cartDest.startsWith(value);
             }
             return false;
@@ -374,7 +476,7 @@ public class RoutingLogic {
                 return StringUtils.equalsIgnoreCase("null", value);
             String customName = cart.getName();
             if (isRegex)
-                return customName.matches(value);
+                return patternMatches(customName);
             return StringUtils.equalsIgnoreCase(customName, value);
         }
 
@@ -10,6 +10,7 @@
 package mods.railcraft.common.util.sounds;
 
 import mods.railcraft.common.core.RailcraftConfig;
+import mods.railcraft.common.plugins.forge.ReflectionPlugin;
 import mods.railcraft.common.plugins.forge.WorldPlugin;
 import net.minecraft.block.Block;
 import net.minecraft.block.SoundType;
@@ -22,7 +23,6 @@ import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.common.FMLCommonHandler;
-import net.minecraftforge.fml.relauncher.ReflectionHelper;
 import net.minecraftforge.fml.relauncher.Side;
 
 import javax.annotation.Nullable;
@@ -34,6 +34,7 @@ import java.util.Map;
  */
 public class SoundHelper {
 
+    private static final ReflectionPlugin.FieldAccessor<SoundEvent, ResourceLocation> SOUND_NAME = ReflectionPlugin.field(SoundEvent.class, 1);
     private static final Map<SoundEvent, Integer> soundLimiterClient = new HashMap<>();
     private static final Map<SoundEvent, Integer> soundLimiterServer = new HashMap<>();
 
@@ -112,7 +113,7 @@ public class SoundHelper {
     //TODO: test
     public static void playBlockSound(World world, BlockPos pos, SoundEvent sound, SoundCategory category, float volume, float pitch, IBlockState state) {
         if (world != null && sound != null) {
-            ResourceLocation soundPath = ReflectionHelper.getPrivateValue(SoundEvent.class, sound, 1);
+            ResourceLocation soundPath = SOUND_NAME.get(sound);
             if (matchesSoundResource(soundPath, "override")) {
                 SoundType blockSound = SoundRegistry.getBlockSound(state, world, pos);
                 if (blockSound != null) {